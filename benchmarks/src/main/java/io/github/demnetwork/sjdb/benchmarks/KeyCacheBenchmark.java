@@ -0,0 +1,80 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+package io.github.demnetwork.sjdb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.github.demnetwork.sjdb.cryptography.AES;
+
+/**
+ * Encrypts and decrypts 4 KiB with the same credentials, like repeated
+ * {@code Database.update()} and {@code DatabaseManager.access()} calls. A key
+ * cache size of 0 derives the key on every call, like before the cache was
+ * added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyCacheBenchmark {
+    private static final String SECRET = "user:password123";
+    private static final String SALT = "0123456789abcdef";
+
+    @Param({ "0", "16" })
+    public int keyCacheSize;
+
+    private AES aes;
+    private byte[] data;
+    private byte[] encrypted;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        this.aes = new AES(256, 65536, this.keyCacheSize);
+        this.data = new byte[4096];
+        new java.util.Random(1).nextBytes(this.data);
+        this.encrypted = this.aes.encrypt(this.data, SECRET, SALT);
+    }
+
+    @Benchmark
+    public byte[] encrypt() throws Throwable {
+        return this.aes.encrypt(this.data, SECRET, SALT);
+    }
+
+    @Benchmark
+    public byte[] decrypt() throws Throwable {
+        return this.aes.decrypt(this.encrypted, SECRET, SALT);
+    }
+}
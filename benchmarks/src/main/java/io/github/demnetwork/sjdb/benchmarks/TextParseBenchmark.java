@@ -0,0 +1,76 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+package io.github.demnetwork.sjdb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.github.demnetwork.sjdb.dbelements.DBInteger;
+import io.github.demnetwork.sjdb.dbelements.DBRootElement;
+import io.github.demnetwork.sjdb.dbelements.DBString;
+
+/**
+ * Parses DFV_1 documents of growing size. The time per element stays the same
+ * when the parser is linear in the size of the document, compare the
+ * <code>elements</code> parameters with each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextParseBenchmark {
+    @Param({ "2000", "4000", "8000", "16000" })
+    public int elements;
+
+    private String document;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DBRootElement root = new DBRootElement(this.elements);
+        for (int i = 0; i < this.elements; i++) {
+            if (i % 2 == 0) {
+                root.set(i, new DBInteger("int" + i, i));
+            } else {
+                root.set(i, new DBString("value number " + i, "str" + i));
+            }
+        }
+        this.document = root.toString();
+    }
+
+    @Benchmark
+    public DBRootElement parse() throws Exception {
+        return new DBRootElement(this.document, this.elements);
+    }
+}
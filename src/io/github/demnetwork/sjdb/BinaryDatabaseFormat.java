@@ -0,0 +1,1491 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import io.github.demnetwork.sjdb.compression.Codec;
+import io.github.demnetwork.sjdb.compression.Codecs;
+import io.github.demnetwork.sjdb.dbelements.*;
+import io.github.demnetwork.sjdb.dbelements.arrays.DBFloatArray;
+import io.github.demnetwork.sjdb.dbelements.arrays.DBIntArray;
+import io.github.demnetwork.sjdb.dbelements.arrays.DBIntegerArray;
+import io.github.demnetwork.sjdb.dbelements.arrays.DBStringArray;
+import io.github.demnetwork.sjdb.dbelements.table.ColumnarTable;
+import io.github.demnetwork.sjdb.dbelements.table.DBTable2C;
+import io.github.demnetwork.sjdb.dbelements.table.DBTable3C;
+import io.github.demnetwork.sjdb.dbelements.table.DBTable4C;
+import io.github.demnetwork.sjdb.dbelements.table.SimpleTable;
+import io.github.demnetwork.sjdb.exceptions.IllegalDatabaseFormat;
+
+/**
+ * Reads and writes files in the Database Format Version 2 (DFV_2).
+ * <p>
+ * A DFV_2 file starts with a header that is not encrypted, followed by the
+ * encrypted payload starting at the next page boundary. The header fits in one
+ * page unless it holds a large chunk index. The decrypted
+ * payload is a sequence of typed and length-prefixed element records, laid out
+ * in page-aligned blocks: a record never crosses a page boundary unless it is
+ * larger than a page, the rest of the page is filled with {@link #PAD}.
+ * </p>
+ * 
+ * <pre>
+ * Header:
+ *   magic         4 bytes   'S' 'J' 'D' 'B'
+ *   dfv           int       2
+ *   pageSize      int
+ *   headerLength  int       Bytes of the header page that are used
+ *   crd           string    Credential hash
+ *   time          long      Time used to build the salt
+ *   rml           int       Root max length, or -1 - size for a root that
+ *                           grows
+ *   payload       long      Length of the encrypted payload
+ *   wrappedKey    int + n   Optional, the data-encryption key encrypted with
+ *                           the credentials, the payload is encrypted with it.
+ *                           The length is -1 when there is no key
+ *   codec         int       Optional, the codec that compressed the payload
+ *                           before it was encrypted
+ *   rawLength     int       Length of the payload before it was compressed
+ *   chunkSize     int       Optional, the payload is split in chunks of this
+ *                           many bytes that are compressed and encrypted with
+ *                           AES-GCM one by one. 0 when it is not
+ *   chunkCount    int       Only when chunkSize is not 0
+ *   fileId        16 bytes  Random for each save, only when chunkSize is not 0
+ *   chunks        chunkCount times:
+ *     length      int       Length of the encrypted chunk
+ *     firstSlot   int       Slot of the first record that starts in the chunk,
+ *                           -1 when none does
+ *   directory     int       Optional, length of the encrypted element directory
+ *                           that follows the payload
+ *   directoryRaw  int       Length of the directory before it was compressed
+ * 
+ * Associated data of each chunk, and of the directory that is encrypted like
+ * one more chunk:
+ *   fileId        16 bytes
+ *   index         int       Index of the chunk
+ *   count         int       Number of chunks, plus one if there is a directory
+ *   final         byte      1 for the last chunk, 0 for the others
+ * 
+ * Directory, compressed and encrypted like the payload, or like one more chunk:
+ *   count         int
+ *   entries       count times, in the order of the records. The numbers are
+ *                 unsigned LEB128 varints:
+ *     slot        varint    Difference with the slot of the previous entry
+ *     type        byte
+ *     offset      varint    Bytes between the end of the previous record and
+ *                           this one, the padding of the pages
+ *     length      varint    Length of the record
+ *     name        varint+n  Length of the UTF-8 name plus one, 0 when there is
+ *                           no name
+ * 
+ * Record:
+ *   type          byte
+ *   slot          int       Index in the root
+ *   length        int       Length of the body
+ *   body          length bytes
+ * </pre>
+ * 
+ * Elements inside arrays and tables are written as cells, that are records
+ * without the slot.
+ * 
+ * @since SJDB v1.0.0
+ */
+final class BinaryDatabaseFormat {
+    static final int DFV = 2;
+    static final int PAGE_SIZE = 4096;
+    private static final byte[] MAGIC = { 'S', 'J', 'D', 'B' };
+    private static final int MAX_HEADER_LENGTH = 1 << 23; // The index of a 2 GiB payload in chunks of a page
+
+    static final byte PAD = 0;
+    static final byte TEMPE = 1;
+    static final byte INTEGER = 2;
+    static final byte STRING = 3;
+    static final byte FLOAT = 4;
+    static final byte INTARR = 5;
+    static final byte FLOATARR = 6;
+    static final byte STRARR = 7;
+    static final byte TABLE2C = 8;
+    static final byte TABLE3C = 9;
+    static final byte TABLE4C = 10;
+    static final byte STABLE = 11;
+    static final byte NULL = 12;
+    static final byte INTS = 13;
+    static final byte CTABLE = 14;
+    static final byte END = -1;
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final int CELL_LENGTH = 5; // The type and the length of an empty cell
+    private static final int MAX_EMPTY_COLUMNS = 1 << 16;
+    private static final byte FINAL = 1;
+    private static final byte FSL = 2;
+
+    private BinaryDatabaseFormat() {
+        throw new UnsupportedOperationException("Cannot instantiate BinaryDatabaseFormat");
+    }
+
+    static final class Header {
+        final String credentialHash;
+        final long time;
+        final int rootLength;
+        final long payloadLength;
+        final int pageSize;
+        final byte[] wrappedKey; // null when the payload is encrypted with the credentials
+        final int codecId;
+        final int rawLength; // Length of the payload before it was compressed
+        final Chunks chunks; // null when the payload is encrypted as one stream
+        final int directoryLength; // 0 when there is no element directory
+        final int directoryRawLength;
+        final long payloadOffset;
+
+        Header(String credentialHash, long time, int rootLength, long payloadLength) {
+            this(credentialHash, time, rootLength, payloadLength, null);
+        }
+
+        Header(String credentialHash, long time, int rootLength, long payloadLength, byte[] wrappedKey) {
+            this(credentialHash, time, rootLength, payloadLength, wrappedKey, Codecs.NONE.getId(), -1);
+        }
+
+        Header(String credentialHash, long time, int rootLength, long payloadLength, byte[] wrappedKey,
+                int codecId, int rawLength) {
+            this(credentialHash, time, rootLength, payloadLength, wrappedKey, codecId, rawLength, null, 0, 0);
+        }
+
+        Header(String credentialHash, long time, int rootLength, long payloadLength, byte[] wrappedKey,
+                int codecId, int rawLength, Chunks chunks, int directoryLength, int directoryRawLength) {
+            this(credentialHash, time, rootLength, payloadLength, PAGE_SIZE, PAGE_SIZE, wrappedKey, codecId,
+                    rawLength, chunks, directoryLength, directoryRawLength);
+        }
+
+        private Header(String credentialHash, long time, int rootLength, long payloadLength, int pageSize,
+                long payloadOffset, byte[] wrappedKey, int codecId, int rawLength, Chunks chunks,
+                int directoryLength, int directoryRawLength) {
+            this.credentialHash = credentialHash;
+            this.time = time;
+            this.rootLength = rootLength;
+            this.payloadLength = payloadLength;
+            this.pageSize = pageSize;
+            this.wrappedKey = wrappedKey;
+            this.codecId = codecId;
+            this.rawLength = rawLength;
+            this.chunks = chunks;
+            this.directoryLength = directoryLength;
+            this.directoryRawLength = directoryRawLength;
+            this.payloadOffset = payloadOffset;
+        }
+
+        /**
+         * @return The associated data used to encrypt the directory like a chunk,
+         *         or null when the payload is encrypted as one stream
+         */
+        byte[] directoryAad() {
+            return (this.chunks == null) ? null : this.chunks.aad(this.chunks.count());
+        }
+    }
+
+    /**
+     * Index of a payload that is encrypted in chunks. Each chunk holds
+     * <code>chunkSize</code> bytes of the payload, except the last one that may
+     * hold less, and is compressed and encrypted on its own, so a reader can
+     * decrypt only the chunks it needs.
+     */
+    static final class Chunks {
+        static final int ID_LENGTH = 16;
+        final int chunkSize;
+        private final byte[] id; // Random for each save
+        private final boolean directory; // If the directory is encrypted like one more chunk
+        private final int[] lengths; // Of the encrypted chunks
+        private final int[] firstSlots;
+        private final long[] offsets; // In the payload
+
+        Chunks(int chunkSize, byte[] id, boolean directory, int[] lengths, int[] firstSlots) {
+            this.chunkSize = chunkSize;
+            this.id = id;
+            this.directory = directory;
+            this.lengths = lengths;
+            this.firstSlots = firstSlots;
+            this.offsets = new long[lengths.length + 1];
+            for (int i = 0; i < lengths.length; i++) {
+                this.offsets[i + 1] = this.offsets[i] + lengths[i];
+            }
+        }
+
+        int count() {
+            return this.lengths.length;
+        }
+
+        /**
+         * The associated data of a chunk binds it to its position, to the number of
+         * chunks and to this save, so chunks cannot be reordered, dropped or taken
+         * from another save of the file without failing their authentication
+         * 
+         * @param chunk The index of the chunk, {@link #count()} for the directory
+         */
+        byte[] aad(int chunk) {
+            return aad(this.id, chunk, this.count() + (this.directory ? 1 : 0));
+        }
+
+        private static byte[] aad(byte[] id, int chunk, int messages) {
+            return ByteBuffer.allocate(ID_LENGTH + 9).put(id).putInt(chunk).putInt(messages)
+                    .put((byte) ((chunk == messages - 1) ? 1 : 0)).array();
+        }
+
+        /**
+         * @return The offset of the encrypted chunk in the payload
+         */
+        long offset(int chunk) {
+            return this.offsets[chunk];
+        }
+
+        int length(int chunk) {
+            return this.lengths[chunk];
+        }
+
+        /**
+         * Finds the chunk where the record of a slot starts, records are written in
+         * the order of their slots. A record larger than a page may continue in the
+         * next chunks.
+         * 
+         * @param slot The slot
+         * @return The index of the chunk, or -1 if no chunk can hold the slot
+         */
+        int chunkOf(int slot) {
+            for (int i = firstSlots.length - 1; i >= 0; i--) {
+                if (firstSlots[i] >= 0 && firstSlots[i] <= slot) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The encrypted chunks of a payload, with their index
+     */
+    static final class SealedPayload {
+        final Chunks chunks;
+        final ByteBuffer[] data;
+
+        private SealedPayload(Chunks chunks, ByteBuffer[] data) {
+            this.chunks = chunks;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Encrypts or decrypts one chunk of a payload
+     */
+    @FunctionalInterface
+    interface ChunkCipher {
+        /**
+         * @param aad The associated data of the chunk, null when the data is
+         *            encrypted as one stream
+         */
+        ByteBuffer apply(ByteBuffer data, byte[] aad) throws Throwable;
+    }
+
+    /**
+     * @return The root length recorded in the header for a root
+     */
+    static int rootLength(DBRootElement root) {
+        return root.isGrowable() ? -1 - root.size() : root.getMaxElementCount();
+    }
+
+    /**
+     * Instantiates an empty root for a root length read from a header
+     */
+    static DBRootElement newRoot(int rootLength) {
+        return (rootLength < 0) ? new DBRootElement(-1 - rootLength, true) : new DBRootElement(rootLength);
+    }
+
+    static boolean isBinaryDatabase(FileChannel ch) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(MAGIC.length);
+        long pos = 0;
+        while (b.hasRemaining()) {
+            int r = ch.read(b, pos);
+            if (r < 0) {
+                return false;
+            }
+            pos += r;
+        }
+        return java.util.Arrays.equals(b.array(), MAGIC);
+    }
+
+    static Header readHeader(FileChannel ch) throws IOException {
+        ByteBuffer b = read(ch, 0, PAGE_SIZE);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            b.get(magic);
+            if (!java.util.Arrays.equals(magic, MAGIC)) {
+                throw new IllegalDatabaseFormat("The file is not a DFV_2 Database");
+            }
+            int dfv = b.getInt();
+            if (dfv != DFV) {
+                throw new IllegalDatabaseFormat("Unsupported Database Format Version: " + dfv);
+            }
+            int pageSize = b.getInt();
+            int headerLength = b.getInt();
+            if (pageSize < PAGE_SIZE || pageSize % PAGE_SIZE != 0) {
+                throw new IllegalDatabaseFormat("Invalid page size in the header");
+            }
+            if (headerLength < b.position() || headerLength > MAX_HEADER_LENGTH) {
+                throw new IllegalDatabaseFormat("Invalid header length: " + headerLength);
+            }
+            if (headerLength > b.limit()) {
+                // The chunk index continues in the next pages
+                b = read(ch, 0, headerLength).position(b.position());
+            }
+            String crd = getString(b);
+            long time = b.getLong();
+            int rml = b.getInt();
+            long payloadLength = b.getLong();
+            byte[] wrappedKey = null;
+            if (b.position() < headerLength) {
+                int l = b.getInt();
+                if (l < -1 || l > headerLength - b.position()) {
+                    throw new IllegalDatabaseFormat("Invalid wrapped key length in the header");
+                }
+                if (l >= 0) {
+                    wrappedKey = new byte[l];
+                    b.get(wrappedKey);
+                }
+            }
+            int codecId = Codecs.NONE.getId();
+            int rawLength = -1;
+            if (b.position() < headerLength) {
+                codecId = b.getInt();
+                rawLength = b.getInt();
+                if (rawLength < 0 || rawLength > Integer.MAX_VALUE - 8
+                        || (codecId == Codecs.NONE.getId() && rawLength > payloadLength)) {
+                    throw new IllegalDatabaseFormat("Invalid payload length in the header");
+                }
+            }
+            Chunks chunks = null;
+            if (b.position() < headerLength) {
+                chunks = readChunks(b, headerLength, payloadLength, rawLength);
+            }
+            int directoryLength = 0;
+            int directoryRawLength = 0;
+            if (b.position() < headerLength) {
+                directoryLength = b.getInt();
+                directoryRawLength = b.getInt();
+                if (directoryLength < 0 || directoryRawLength < 0 || directoryRawLength > Integer.MAX_VALUE - 8) {
+                    throw new IllegalDatabaseFormat("Invalid directory length in the header");
+                }
+            }
+            long payloadOffset = ((headerLength + (long) pageSize - 1) / pageSize) * pageSize;
+            return new Header(crd, time, rml, payloadLength, pageSize, payloadOffset, wrappedKey, codecId,
+                    rawLength, chunks, directoryLength, directoryRawLength);
+        } catch (java.nio.BufferUnderflowException bue) {
+            throw new IllegalDatabaseFormat("The header of the Database is truncated", bue);
+        }
+    }
+
+    private static Chunks readChunks(ByteBuffer b, int headerLength, long payloadLength, int rawLength) {
+        int chunkSize = b.getInt();
+        if (chunkSize == 0) {
+            return null;
+        }
+        int count = b.getInt();
+        if (chunkSize < PAGE_SIZE || chunkSize % PAGE_SIZE != 0 || count < 1
+                || count > (headerLength - b.position() - Chunks.ID_LENGTH) / 8) {
+            throw new IllegalDatabaseFormat("Invalid chunk index in the header");
+        }
+        byte[] id = new byte[Chunks.ID_LENGTH];
+        b.get(id);
+        if (rawLength <= (long) (count - 1) * chunkSize || rawLength > (long) count * chunkSize) {
+            throw new IllegalDatabaseFormat("The chunk index does not match the payload length");
+        }
+        int[] lengths = new int[count];
+        int[] firstSlots = new int[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = b.getInt();
+            firstSlots[i] = b.getInt();
+            if (lengths[i] <= 0 || firstSlots[i] < -1) {
+                throw new IllegalDatabaseFormat("Invalid chunk index in the header");
+            }
+        }
+        // The directory length is read after the chunk index
+        boolean directory = headerLength - b.position() >= 8 && b.getInt(b.position()) > 0;
+        Chunks c = new Chunks(chunkSize, id, directory, lengths, firstSlots);
+        if (c.offset(count) != payloadLength) {
+            throw new IllegalDatabaseFormat("The chunk index does not match the payload length");
+        }
+        return c;
+    }
+
+    static ByteBuffer readPayload(FileChannel ch, Header h) throws IOException {
+        if (h.payloadLength < 0 || h.payloadLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalDatabaseFormat("Invalid payload length: " + h.payloadLength);
+        }
+        return readFully(ch, h.payloadOffset, (int) h.payloadLength);
+    }
+
+    /**
+     * Reads the encrypted element directory that follows the payload
+     * 
+     * @return The directory, ready to be read, or null if the file has none
+     */
+    static ByteBuffer readDirectory(FileChannel ch, Header h) throws IOException {
+        if (h.directoryLength == 0) {
+            return null;
+        }
+        return readFully(ch, h.payloadOffset + h.payloadLength, h.directoryLength);
+    }
+
+    /**
+     * Reads only some of the encrypted chunks of a payload
+     * 
+     * @param ch   The channel of the Database file
+     * @param h    The header, with a chunk index
+     * @param from Index of the first chunk
+     * @param to   Index after the last chunk
+     * @return A buffer holding the chunks, ready to be read
+     * @see #open(Header, ByteBuffer, int, int, ChunkCipher)
+     */
+    static ByteBuffer readChunks(FileChannel ch, Header h, int from, int to) throws IOException {
+        Chunks c = h.chunks;
+        return readFully(ch, h.payloadOffset + c.offset(from), (int) (c.offset(to) - c.offset(from)));
+    }
+
+    private static ByteBuffer readFully(FileChannel ch, long pos, int length) throws IOException {
+        // The lengths come from the header, check them before allocating the buffer
+        if (length < 0 || pos + length > ch.size()) {
+            throw new IllegalDatabaseFormat("Unexpected end of the Database file");
+        }
+        ByteBuffer b = read(ch, pos, length);
+        if (b.limit() != length) {
+            throw new IllegalDatabaseFormat("Unexpected end of the Database file");
+        }
+        return b;
+    }
+
+    /**
+     * Reads up to <code>length</code> bytes, less when the file ends before
+     */
+    private static ByteBuffer read(FileChannel ch, long pos, int length) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(length);
+        while (b.hasRemaining()) {
+            int r = ch.read(b, pos);
+            if (r < 0) {
+                break;
+            }
+            pos += r;
+        }
+        return b.flip();
+    }
+
+    /**
+     * Decompresses a decrypted payload with the codec recorded in its header
+     */
+    static ByteBuffer decompress(Header h, ByteBuffer data) {
+        if (h.codecId == Codecs.NONE.getId()) {
+            return data;
+        }
+        return codecOf(h).decompress(data, h.rawLength);
+    }
+
+    /**
+     * Decompresses a decrypted directory with the codec recorded in its header
+     */
+    static ByteBuffer decompressDirectory(Header h, ByteBuffer directory) {
+        if (h.codecId == Codecs.NONE.getId()) {
+            return directory;
+        }
+        return codecOf(h).decompress(directory, h.directoryRawLength);
+    }
+
+    private static Codec codecOf(Header h) {
+        Codec c = Codecs.get(h.codecId);
+        if (c == null) {
+            throw new IllegalDatabaseFormat("Unknown codec: " + h.codecId);
+        }
+        return c;
+    }
+
+    /**
+     * Splits a payload in chunks, then compresses and encrypts each one. The
+     * chunks are encrypted in parallel.
+     * 
+     * @param payload   The payload made by {@link #encode(DBRootElement)}, it is
+     *                  not consumed
+     * @param chunkSize Bytes of the payload in each chunk, a multiple of
+     *                  {@link #PAGE_SIZE}
+     * @param directory If the directory is encrypted like one more chunk after
+     *                  the payload
+     * @param codec     The codec that compresses each chunk
+     * @param cipher    Encrypts each chunk
+     * @return The encrypted chunks and their index
+     */
+    static SealedPayload seal(ByteBuffer payload, int chunkSize, boolean directory, Codec codec, ChunkCipher cipher)
+            throws Throwable {
+        final int base = payload.position();
+        final int length = payload.remaining();
+        final int count = Math.max(1, (int) ((length + (long) chunkSize - 1) / chunkSize));
+        final byte[] id = new byte[Chunks.ID_LENGTH];
+        random.nextBytes(id);
+        ByteBuffer[] data = new ByteBuffer[count];
+        forEachChunk(0, count, i -> {
+            int start = i * chunkSize;
+            data[i] = cipher.apply(codec.compress(payload.slice(base + start, Math.min(chunkSize, length - start))),
+                    Chunks.aad(id, i, count + (directory ? 1 : 0)));
+        });
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = data[i].remaining();
+        }
+        return new SealedPayload(
+                new Chunks(chunkSize, id, directory, lengths, firstSlots(payload, chunkSize, count)), data);
+    }
+
+    /**
+     * Decrypts and decompresses a range of chunks, in parallel.
+     * 
+     * @param h      The header, with a chunk index
+     * @param data   The encrypted chunks, starting with the chunk
+     *               <code>from</code>, like returned by
+     *               {@link #readChunks(FileChannel, Header, int, int)}
+     * @param from   Index of the first chunk
+     * @param to     Index after the last chunk
+     * @param cipher Decrypts each chunk
+     * @return A buffer holding the payload from the start of the chunk
+     *         <code>from</code>, ready to be read
+     */
+    static ByteBuffer open(Header h, ByteBuffer data, int from, int to, ChunkCipher cipher) throws Throwable {
+        final Chunks c = h.chunks;
+        if (from < 0 || to > c.count() || from >= to) {
+            throw new IllegalDatabaseFormat("Invalid chunk range: " + from + " to " + to);
+        }
+        final Codec codec = (h.codecId == Codecs.NONE.getId()) ? Codecs.NONE : codecOf(h);
+        final int start = from * c.chunkSize;
+        final ByteBuffer out = ByteBuffer.allocate(Math.min(h.rawLength, to * c.chunkSize) - start);
+        final int base = data.position();
+        final long first = c.offset(from);
+        forEachChunk(from, to, i -> {
+            int rawLength = Math.min(c.chunkSize, h.rawLength - i * c.chunkSize);
+            ByteBuffer e = data.slice(base + (int) (c.offset(i) - first), c.length(i));
+            ByteBuffer d = codec.decompress(cipher.apply(e, c.aad(i)), rawLength);
+            if (d.remaining() != rawLength) {
+                throw new IllegalDatabaseFormat("Chunk length mismatch at chunk " + i);
+            }
+            // The chunks fill disjoint ranges of the buffer
+            out.put(i * c.chunkSize - start, d, d.position(), rawLength);
+        });
+        return out;
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int chunk) throws Throwable;
+    }
+
+    private static void forEachChunk(int from, int to, ChunkTask t) throws Throwable {
+        // The first chunk runs alone, so a key derived from the credentials is only
+        // derived once and wrong credentials fail before the other chunks start
+        t.run(from);
+        if (to - from < 2) {
+            return;
+        }
+        AtomicReference<Throwable> err = new AtomicReference<>();
+        IntStream.range(from + 1, to).parallel().forEach(i -> {
+            if (err.get() != null) {
+                return;
+            }
+            try {
+                t.run(i);
+            } catch (Throwable x) {
+                err.compareAndSet(null, x);
+            }
+        });
+        if (err.get() != null) {
+            throw err.get();
+        }
+    }
+
+    /**
+     * Finds the slot of the first record that starts in each chunk
+     */
+    private static int[] firstSlots(ByteBuffer payload, int chunkSize, int count) {
+        int[] f = new int[count];
+        java.util.Arrays.fill(f, -1);
+        ByteBuffer b = payload.duplicate();
+        int base = b.position();
+        while (b.hasRemaining()) {
+            int start = b.position() - base;
+            byte type = b.get();
+            if (type == PAD) {
+                b.position(base + Math.min(b.limit() - base, ((start / PAGE_SIZE) + 1) * PAGE_SIZE));
+                continue;
+            }
+            if (type == END || b.remaining() < 8) {
+                break;
+            }
+            int slot = b.getInt();
+            int length = b.getInt();
+            if (f[start / chunkSize] < 0) {
+                f[start / chunkSize] = slot;
+            }
+            b.position(b.position() + length);
+        }
+        return f;
+    }
+
+    /**
+     * Writes the header page followed by the payload
+     * 
+     * @param ch      The channel of the new file
+     * @param h       The header
+     * @param payload The encrypted payload, or its encrypted chunks in order,
+     *                followed by the encrypted directory if there is one. It is
+     *                not consumed
+     */
+    static void write(FileChannel ch, Header h, ByteBuffer... payload) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[payload.length + 1];
+        long length = 0;
+        for (int i = 0; i < payload.length; i++) {
+            buffers[i + 1] = payload[i].duplicate();
+            length += payload[i].remaining();
+        }
+        long total = length;
+        length -= h.directoryLength;
+        Chunks chunks = h.chunks;
+        int index = (chunks == null) ? 12 : 16 + Chunks.ID_LENGTH + 8 * chunks.count();
+        ByteBuffer header = ByteBuffer.allocate(((PAGE_SIZE + index + PAGE_SIZE - 1) / PAGE_SIZE) * PAGE_SIZE);
+        header.put(MAGIC);
+        header.putInt(DFV);
+        header.putInt(PAGE_SIZE);
+        header.putInt(0);
+        putString(header, h.credentialHash);
+        header.putLong(h.time);
+        header.putInt(h.rootLength);
+        header.putLong(length);
+        boolean directory = h.directoryLength > 0;
+        boolean codec = h.codecId != Codecs.NONE.getId() || chunks != null || directory;
+        if (h.wrappedKey != null) {
+            header.putInt(h.wrappedKey.length);
+            header.put(h.wrappedKey);
+        } else if (codec) {
+            header.putInt(-1);
+        }
+        if (codec) {
+            header.putInt(h.codecId);
+            header.putInt(h.rawLength);
+        }
+        if (chunks != null) {
+            header.putInt(chunks.chunkSize);
+            header.putInt(chunks.count());
+            header.put(chunks.id);
+            for (int i = 0; i < chunks.count(); i++) {
+                header.putInt(chunks.lengths[i]);
+                header.putInt(chunks.firstSlots[i]);
+            }
+        } else if (directory) {
+            header.putInt(0);
+        }
+        if (directory) {
+            header.putInt(h.directoryLength);
+            header.putInt(h.directoryRawLength);
+        }
+        int headerLength = header.position();
+        header.putInt(12, headerLength);
+        header.position(0).limit(((headerLength + PAGE_SIZE - 1) / PAGE_SIZE) * PAGE_SIZE);
+        buffers[0] = header;
+        long remaining = header.remaining() + total;
+        while (remaining > 0) {
+            remaining -= ch.write(buffers);
+        }
+    }
+
+    /**
+     * Encodes all the supported elements of the root into records.
+     * 
+     * @param root Root to encode
+     * @return A buffer holding the payload before encryption, ready to be read
+     */
+    static ByteBuffer encode(DBRootElement root) {
+        Output o = new Output(PAGE_SIZE);
+        // The expired elements are only removed before the first slot is read, unlike
+        // with get(int), so a slot cannot become empty while it is encoded
+        root.forEach((e, i) -> {
+            if (e instanceof LazyRecord) {
+                o.raw(((LazyRecord) e).raw(), i); // Copied without decoding it
+            } else if (e instanceof DBElement<?>) {
+                o.record((DBElement<?>) e, i);
+            }
+        }, false);
+        o.ensure(1);
+        o.b.put(END);
+        return o.b.flip();
+    }
+
+    /**
+     * Decodes records made by {@link #encode(DBRootElement)} into a root
+     * 
+     * @param b    The payload, after decryption
+     * @param root The root that receives the elements
+     * @return The root
+     */
+    static DBRootElement decode(ByteBuffer b, DBRootElement root) {
+        try {
+            while (b.hasRemaining()) {
+                byte type = b.get();
+                if (type == PAD) {
+                    b.position(Math.min(b.limit(), (((b.position() - 1) / PAGE_SIZE) + 1) * PAGE_SIZE));
+                    continue;
+                }
+                if (type == END) {
+                    break;
+                }
+                int slot = b.getInt();
+                int length = b.getInt();
+                checkSlot(slot, root);
+                int end = b.position() + length;
+                DBElement<?> e = readBody(type, b);
+                if (b.position() != end) {
+                    throw new IllegalDatabaseFormat("Record length mismatch at slot " + slot);
+                }
+                root.set(slot, e);
+            }
+        } catch (java.nio.BufferUnderflowException | ArrayStoreException | IllegalArgumentException
+                | IndexOutOfBoundsException err) {
+            throw new IllegalDatabaseFormat("Unable to parse Database: Corrupted record", err);
+        }
+        return root;
+    }
+
+    /**
+     * The root of a payload is instantiated with the root length of the header,
+     * so no slot of the payload is after its capacity, even if it is growable
+     */
+    private static void checkSlot(int slot, DBRootElement root) {
+        if (slot < 0 || slot >= root.getCapacity()) {
+            throw new IllegalDatabaseFormat("Invalid slot: " + slot);
+        }
+    }
+
+    /**
+     * Builds the element directory of a payload
+     * 
+     * @param payload The payload made by {@link #encode(DBRootElement)}, it is
+     *                not consumed
+     * @return The directory before compression and encryption, ready to be read
+     */
+    static ByteBuffer directory(ByteBuffer payload) {
+        Output o = new Output(PAGE_SIZE);
+        o.ensure(4);
+        o.b.putInt(0);
+        int count = 0;
+        int lastSlot = 0;
+        int lastEnd = 0;
+        ByteBuffer b = payload.duplicate();
+        int base = b.position();
+        while (b.hasRemaining()) {
+            int start = b.position() - base;
+            byte type = b.get();
+            if (type == PAD) {
+                b.position(base + Math.min(b.limit() - base, ((start / PAGE_SIZE) + 1) * PAGE_SIZE));
+                continue;
+            }
+            if (type == END) {
+                break;
+            }
+            int slot = b.getInt();
+            int length = b.getInt();
+            int end = b.position() + length;
+            o.varint(slot - lastSlot);
+            o.ensure(1);
+            o.b.put(type);
+            o.varint(start - lastEnd);
+            o.varint(end - base - start);
+            if (type == TEMPE) {
+                o.varint(0);
+            } else {
+                // The bodies of named elements start with the name
+                int l = b.getInt();
+                o.varint(l + 1);
+                if (l > 0) {
+                    o.ensure(l);
+                    o.b.put(b.slice(b.position(), l));
+                }
+            }
+            b.position(end);
+            lastSlot = slot;
+            lastEnd = end - base;
+            count++;
+        }
+        o.b.putInt(0, count);
+        return o.b.flip();
+    }
+
+    /**
+     * Fills a root with placeholders of the elements listed by a directory, they
+     * are decoded by <code>records</code> when they are used.
+     * {@link io.github.demnetwork.sjdb.dbelements.DBTempElement DBTempElement}s
+     * are decoded now, because their duration starts when they are instantiated.
+     * 
+     * @param directory The directory, after decryption and decompression
+     * @param root      The root that receives the placeholders
+     * @param records   The payload
+     * @return The root
+     */
+    static DBRootElement decodeLazy(ByteBuffer directory, DBRootElement root, LazyPayload records) {
+        try {
+            int count = directory.getInt();
+            int slot = 0;
+            int end = 0;
+            for (int i = 0; i < count; i++) {
+                slot += getVarint(directory);
+                byte type = directory.get();
+                int offset = end + getVarint(directory);
+                int length = getVarint(directory);
+                int l = getVarint(directory) - 1;
+                String name = null;
+                if (l >= 0) {
+                    name = new String(directory.array(), directory.arrayOffset() + directory.position(), l,
+                            StandardCharsets.UTF_8);
+                    directory.position(directory.position() + l);
+                }
+                if (offset < 0 || length < 9 || offset + length < 0) {
+                    throw new IllegalDatabaseFormat("Invalid directory entry at slot " + slot);
+                }
+                checkSlot(slot, root);
+                end = offset + length;
+                if (type == TEMPE) {
+                    root.set(slot, records.load(offset, length));
+                } else {
+                    root.setLazy(slot, name, new LazyRecord(records, offset, length));
+                }
+            }
+        } catch (java.nio.BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException err) {
+            throw new IllegalDatabaseFormat("Unable to parse Database: Corrupted directory", err);
+        }
+        return root;
+    }
+
+    /**
+     * The loader of a placeholder made by
+     * {@link #decodeLazy(ByteBuffer, DBRootElement, LazyPayload)}, its record is
+     * copied as it is when the root is encoded before the placeholder is used
+     */
+    private static final class LazyRecord implements java.util.function.Supplier<DBElement<?>> {
+        private final LazyPayload records;
+        private final int offset;
+        private final int length;
+
+        private LazyRecord(LazyPayload records, int offset, int length) {
+            this.records = records;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public DBElement<?> get() {
+            return this.records.load(this.offset, this.length);
+        }
+
+        private ByteBuffer raw() {
+            return this.records.raw(this.offset, this.length);
+        }
+    }
+
+    /**
+     * Decodes one record of a payload, found with the element directory
+     * 
+     * @param b The record, from its type to the end of its body
+     * @return The element
+     */
+    static DBElement<?> decodeRecord(ByteBuffer b) {
+        try {
+            byte type = b.get();
+            int slot = b.getInt();
+            int length = b.getInt();
+            if (length != b.remaining()) {
+                throw new IllegalDatabaseFormat("Record length mismatch at slot " + slot);
+            }
+            return readBody(type, b);
+        } catch (java.nio.BufferUnderflowException | ArrayStoreException | IllegalArgumentException
+                | IndexOutOfBoundsException err) {
+            throw new IllegalDatabaseFormat("Unable to parse Database: Corrupted record", err);
+        }
+    }
+
+    /**
+     * Encodes the Object held by one slot into a record, used by the journal.
+     * Empty slots and unsupported Objects are encoded as a record without a body
+     * that resets the slot.
+     * 
+     * @param o    The Object, it may be null
+     * @param slot The index of the slot
+     * @return The record, before encryption
+     */
+    static byte[] encodeSlot(Object o, int slot) {
+        Output out = new Output(64);
+        if (o instanceof DBElement<?>) {
+            out.record((DBElement<?>) o, slot);
+        }
+        if (out.b.position() == 0) {
+            out.ensure(9);
+            out.b.put(NULL);
+            out.b.putInt(slot);
+            out.b.putInt(0);
+        }
+        return java.util.Arrays.copyOf(out.b.array(), out.b.position());
+    }
+
+    /**
+     * Applies a record made by {@link #encodeSlot(Object, int)} to a root
+     * 
+     * @param b    The record, after decryption
+     * @param root The root that receives the element
+     */
+    static void decodeSlot(ByteBuffer b, DBRootElement root) {
+        try {
+            byte type = b.get();
+            int slot = b.getInt();
+            int length = b.getInt();
+            if (length != b.remaining()) {
+                throw new IllegalDatabaseFormat("Record length mismatch at slot " + slot);
+            }
+            if (type == NULL) {
+                root.reset(slot);
+            } else {
+                root.set(slot, readBody(type, b));
+            }
+        } catch (java.nio.BufferUnderflowException | ArrayStoreException | IllegalArgumentException
+                | IndexOutOfBoundsException err) {
+            throw new IllegalDatabaseFormat("Unable to parse Database: Corrupted record", err);
+        }
+    }
+
+    private static byte typeOf(DBElement<?> e) {
+        if (e instanceof DBTempElement) {
+            return (((DBTempElement) e).getDuration() <= 0) ? NULL : TEMPE;
+        } else if (e instanceof DBInteger) {
+            return INTEGER;
+        } else if (e instanceof DBString) {
+            return STRING;
+        } else if (e instanceof DBFloat) {
+            return FLOAT;
+        } else if (e instanceof DBIntegerArray) {
+            return INTARR;
+        } else if (e instanceof DBIntArray) {
+            return INTS;
+        } else if (e instanceof DBFloatArray) {
+            return FLOATARR;
+        } else if (e instanceof DBStringArray) {
+            return STRARR;
+        } else if (e instanceof DBTable4C) {
+            return TABLE4C;
+        } else if (e instanceof DBTable3C) {
+            return TABLE3C;
+        } else if (e instanceof DBTable2C) {
+            return TABLE2C;
+        } else if (e instanceof SimpleTable) {
+            return STABLE;
+        } else if (e instanceof ColumnarTable) {
+            return CTABLE;
+        }
+        return NULL; // Unsupported elements are not written, like in DFV_1
+    }
+
+    private static byte flags(boolean isFinal, boolean isFinalStateLocked) {
+        return (byte) ((isFinal ? FINAL : 0) | (isFinalStateLocked ? FSL : 0));
+    }
+
+    /**
+     * @return false if nothing was written, because a
+     *         {@link io.github.demnetwork.sjdb.dbelements.DBTempElement
+     *         DBTempElement} expired after {@link #typeOf(DBElement)}
+     */
+    private static boolean writeBody(Output o, byte type, DBElement<?> e) {
+        switch (type) {
+            case TEMPE: {
+                DBTempElement t = (DBTempElement) e;
+                String message;
+                try {
+                    message = t.getMessage();
+                } catch (IllegalStateException expired) {
+                    return false;
+                }
+                long d = t.getDuration();
+                if (d <= 0) {
+                    return false; // It expired after its message was read
+                }
+                o.string(message);
+                o.ensure(8);
+                o.b.putLong(d);
+                break;
+            }
+            case INTEGER: {
+                DBInteger i = (DBInteger) e;
+                o.string(i.getName());
+                o.ensure(5);
+                o.b.put(flags(i.isFinal(), i.isFinalStateLocked()));
+                o.b.putInt(i.get().intValue());
+                break;
+            }
+            case STRING: {
+                DBString s = (DBString) e;
+                o.string(s.getName());
+                o.ensure(1);
+                o.b.put(flags(s.isFinal(), s.isFinalStateLocked()));
+                o.string(s.get());
+                break;
+            }
+            case FLOAT: {
+                DBFloat f = (DBFloat) e;
+                o.string(f.getName());
+                o.ensure(5);
+                o.b.put(flags(f.isFinal(), f.isFinalStateLocked()));
+                o.b.putFloat(f.get().floatValue());
+                break;
+            }
+            case INTARR: {
+                DBIntegerArray a = (DBIntegerArray) e;
+                o.string(a.getName());
+                o.ensure(1);
+                o.b.put(flags(a.isFinal(), a.isFinalStateLocked()));
+                o.cells(a.view());
+                break;
+            }
+            case INTS: {
+                DBIntArray a = (DBIntArray) e;
+                int length = a.size();
+                o.string(a.getName());
+                o.ensure(5 + length * 4);
+                o.b.put(flags(a.isFinal(), a.isFinalStateLocked()));
+                o.b.putInt(length);
+                for (int i = 0; i < length; i++) {
+                    o.b.putInt(a.getInt(i));
+                }
+                break;
+            }
+            case FLOATARR: {
+                DBFloatArray a = (DBFloatArray) e;
+                o.string(a.getName());
+                o.cells(a.view());
+                break;
+            }
+            case STRARR: {
+                DBStringArray a = (DBStringArray) e;
+                o.string(a.getName());
+                o.cells(a.view());
+                break;
+            }
+            case TABLE2C:
+            case TABLE3C:
+            case TABLE4C: {
+                DBTable2C<?, ?> t = (DBTable2C<?, ?>) e;
+                int cols = type == TABLE2C ? 2 : (type == TABLE3C ? 3 : 4);
+                int length = t.getMaxElementCount();
+                o.string(t.getName());
+                o.ensure(4);
+                o.b.putInt(length);
+                for (int c = 1; c <= cols; c++) {
+                    for (int r = 0; r < length; r++) {
+                        o.cell(t.get(r, c));
+                    }
+                }
+                break;
+            }
+            case STABLE: {
+                SimpleTable t = (SimpleTable) e;
+                o.string(t.getName());
+                o.ensure(8);
+                o.b.putInt(t.colCount);
+                o.b.putInt(t.length);
+                for (int c = 0; c < t.colCount; c++) {
+                    for (int r = 0; r < t.length; r++) {
+                        o.cell(t.get(r, c));
+                    }
+                }
+                break;
+            }
+            case CTABLE: {
+                ColumnarTable t = (ColumnarTable) e;
+                o.string(t.getName());
+                o.ensure(8);
+                o.b.putInt(t.length);
+                o.b.putInt(t.colCount);
+                for (int c = 0; c < t.colCount; c++) {
+                    ColumnarTable.Column col = t.getColumn(c);
+                    o.ensure(1);
+                    o.b.put((byte) col.getType().ordinal());
+                    o.string(col.getName());
+                    switch (col.getType()) {
+                        case INT: {
+                            ColumnarTable.IntColumn ic = (ColumnarTable.IntColumn) col;
+                            o.ensure(t.length * 4);
+                            for (int r = 0; r < t.length; r++) {
+                                o.b.putInt(ic.getInt(r));
+                            }
+                            break;
+                        }
+                        case FLOAT: {
+                            ColumnarTable.FloatColumn fc = (ColumnarTable.FloatColumn) col;
+                            o.ensure(t.length * 4);
+                            for (int r = 0; r < t.length; r++) {
+                                o.b.putFloat(fc.getFloat(r));
+                            }
+                            break;
+                        }
+                        default: {
+                            ColumnarTable.StringColumn sc = (ColumnarTable.StringColumn) col;
+                            int n = sc.getDictionarySize();
+                            o.ensure(4);
+                            o.b.putInt(n);
+                            for (int i = 0; i < n; i++) {
+                                o.string(sc.getDictionaryValue(i));
+                            }
+                            o.ensure(t.length * 4);
+                            for (int r = 0; r < t.length; r++) {
+                                o.b.putInt(sc.getCode(r));
+                            }
+                            break;
+                        }
+                    }
+                }
+                break;
+            }
+            default:
+                throw new AssertionError("Unknown record type: " + type);
+        }
+        return true;
+    }
+
+    private static DBElement<?> readCell(ByteBuffer b) {
+        byte type = b.get();
+        int length = b.getInt();
+        if (type == NULL) {
+            if (length < 0 || length > b.remaining()) {
+                throw new IllegalDatabaseFormat("Invalid length in a record: " + length);
+            }
+            b.position(b.position() + length);
+            return null;
+        }
+        return readBody(type, b);
+    }
+
+    private static DBElement<?>[] readCells(ByteBuffer b, DBElement<?>[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = readCell(b);
+        }
+        return cells;
+    }
+
+    private static DBElement<?> readBody(byte type, ByteBuffer b) {
+        switch (type) {
+            case TEMPE: {
+                String msg = getString(b);
+                return new DBTempElement(msg, b.getLong());
+            }
+            case INTEGER: {
+                String name = getString(b);
+                byte f = b.get();
+                return new DBInteger(name, b.getInt(), (f & FINAL) != 0, (f & FSL) != 0);
+            }
+            case STRING: {
+                String name = getString(b);
+                byte f = b.get();
+                return new DBString(getString(b), name, (f & FINAL) != 0, (f & FSL) != 0);
+            }
+            case FLOAT: {
+                String name = getString(b);
+                byte f = b.get();
+                return new DBFloat(name, b.getFloat(), (f & FINAL) != 0, (f & FSL) != 0);
+            }
+            case INTARR: {
+                String name = getString(b);
+                byte f = b.get();
+                DBInteger[] data = (DBInteger[]) readCells(b, new DBInteger[getCount(b, CELL_LENGTH)]);
+                return new DBIntegerArray(name, data, (f & FINAL) != 0, (f & FSL) != 0);
+            }
+            case INTS: {
+                String name = getString(b);
+                byte f = b.get();
+                int[] data = new int[getCount(b, 4)];
+                b.asIntBuffer().get(data);
+                b.position(b.position() + data.length * 4);
+                return new DBIntArray(name, data, (f & FINAL) != 0, (f & FSL) != 0);
+            }
+            case FLOATARR: {
+                String name = getString(b);
+                return new DBFloatArray((DBFloat[]) readCells(b, new DBFloat[getCount(b, CELL_LENGTH)]), name);
+            }
+            case STRARR: {
+                String name = getString(b);
+                return new DBStringArray((DBString[]) readCells(b, new DBString[getCount(b, CELL_LENGTH)]), name);
+            }
+            case TABLE2C:
+            case TABLE3C:
+            case TABLE4C: {
+                int cols = type == TABLE2C ? 2 : (type == TABLE3C ? 3 : 4);
+                String name = getString(b);
+                int length = getCount(b, cols * CELL_LENGTH);
+                DBElement<?>[][] c = new DBElement<?>[cols][];
+                for (int i = 0; i < cols; i++) {
+                    c[i] = readCells(b, new DBElement<?>[length]);
+                }
+                if (type == TABLE2C) {
+                    return new DBTable2C<DBElement<?>, DBElement<?>>(c[0], c[1], name);
+                } else if (type == TABLE3C) {
+                    return new DBTable3C<DBElement<?>, DBElement<?>, DBElement<?>>(c[0], c[1], c[2], name);
+                }
+                return new DBTable4C<DBElement<?>, DBElement<?>, DBElement<?>, DBElement<?>>(c[0], c[1], c[2],
+                        c[3], name);
+            }
+            case STABLE: {
+                String name = getString(b);
+                int cols = b.getInt();
+                int length = b.getInt();
+                // A table without rows records no cells, so only its column count limits it
+                if (cols < 0 || length < 0 || (length == 0 && cols > MAX_EMPTY_COLUMNS)
+                        || (long) cols * length * CELL_LENGTH > b.remaining()) {
+                    throw new IllegalDatabaseFormat("Invalid size of the table \'" + name + "\'");
+                }
+                DBElement<?>[][] c = new DBElement<?>[cols][];
+                for (int i = 0; i < cols; i++) {
+                    c[i] = readCells(b, new DBElement<?>[length]);
+                }
+                return new SimpleTable(name, c);
+            }
+            case CTABLE: {
+                String name = getString(b);
+                int length = b.getInt();
+                if (length < 0) {
+                    throw new IllegalDatabaseFormat("Invalid length in a record: " + length);
+                }
+                // Every column has a type, a name and 4 bytes per row
+                ColumnarTable.Column[] c = new ColumnarTable.Column[getCount(b, 5 + 4L * length)];
+                ColumnarTable.ColumnType[] types = ColumnarTable.ColumnType.values();
+                for (int i = 0; i < c.length; i++) {
+                    int colType = b.get();
+                    if (colType < 0 || colType >= types.length) {
+                        throw new IllegalDatabaseFormat("Unknown column type: " + colType);
+                    }
+                    String colName = getString(b);
+                    switch (types[colType]) {
+                        case INT: {
+                            int[] data = new int[length];
+                            b.asIntBuffer().get(data);
+                            b.position(b.position() + length * 4);
+                            c[i] = new ColumnarTable.IntColumn(colName, data);
+                            break;
+                        }
+                        case FLOAT: {
+                            float[] data = new float[length];
+                            b.asFloatBuffer().get(data);
+                            b.position(b.position() + length * 4);
+                            c[i] = new ColumnarTable.FloatColumn(colName, data);
+                            break;
+                        }
+                        default: {
+                            String[] dictionary = new String[getCount(b, 4)];
+                            for (int j = 0; j < dictionary.length; j++) {
+                                dictionary[j] = getString(b);
+                            }
+                            int[] codes = new int[length];
+                            b.asIntBuffer().get(codes);
+                            b.position(b.position() + length * 4);
+                            c[i] = new ColumnarTable.StringColumn(colName, dictionary, codes);
+                            break;
+                        }
+                    }
+                }
+                return new ColumnarTable(name, c);
+            }
+            default:
+                throw new IllegalDatabaseFormat("Unknown record type: " + type);
+        }
+    }
+
+    /**
+     * Reads the count of the items that follow, so a corrupted count fails
+     * before an array is allocated for them
+     * 
+     * @param size The least number of bytes taken by each item
+     */
+    private static int getCount(ByteBuffer b, long size) {
+        int n = b.getInt();
+        if (n < 0 || n * size > b.remaining()) {
+            throw new IllegalDatabaseFormat("Invalid length in a record: " + n);
+        }
+        return n;
+    }
+
+    private static String getString(ByteBuffer b) {
+        int l = b.getInt();
+        if (l < 0) {
+            return null;
+        }
+        if (l > b.remaining()) {
+            throw new IllegalDatabaseFormat("Invalid length in a record: " + l);
+        }
+        String s = new String(b.array(), b.arrayOffset() + b.position(), l, StandardCharsets.UTF_8);
+        b.position(b.position() + l);
+        return s;
+    }
+
+    private static int getVarint(ByteBuffer b) {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte x = b.get();
+            v |= (x & 0x7F) << shift;
+            if (x >= 0) {
+                return v;
+            }
+        }
+        throw new IllegalDatabaseFormat("Invalid varint");
+    }
+
+    private static void putString(ByteBuffer b, String s) {
+        if (s == null) {
+            b.putInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        b.putInt(bytes.length);
+        b.put(bytes);
+    }
+
+    /**
+     * Growable buffer used while encoding
+     */
+    private static final class Output {
+        private ByteBuffer b;
+
+        private Output(int capacity) {
+            this.b = ByteBuffer.allocate(capacity);
+        }
+
+        private void ensure(int n) {
+            if (b.remaining() < n) {
+                ByteBuffer nb = ByteBuffer.allocate(Math.max(b.capacity() * 2, b.position() + n));
+                b.flip();
+                nb.put(b);
+                b = nb;
+            }
+        }
+
+        private void string(String s) {
+            if (s == null) {
+                ensure(4);
+                b.putInt(-1);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length);
+            b.putInt(bytes.length);
+            b.put(bytes);
+        }
+
+        private void varint(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                b.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            b.put((byte) v);
+        }
+
+        private void record(DBElement<?> e, int slot) {
+            byte type = typeOf(e);
+            if (type == NULL) {
+                return;
+            }
+            ensure(9);
+            int start = b.position();
+            b.put(type);
+            b.putInt(slot);
+            b.putInt(0);
+            if (!writeBody(this, type, e)) {
+                b.position(start); // The element expired, so it is not written
+                return;
+            }
+            b.putInt(start + 5, b.position() - start - 9);
+            this.align(start);
+        }
+
+        /**
+         * Copies a record of a previous payload
+         * 
+         * @param r    The record, from its type to the end of its body
+         * @param slot The slot of the record
+         */
+        private void raw(ByteBuffer r, int slot) {
+            if (r.remaining() < 9 || r.getInt(r.position() + 5) != r.remaining() - 9) {
+                throw new IllegalDatabaseFormat("Corrupted record at slot " + slot);
+            }
+            ensure(r.remaining());
+            int start = b.position();
+            b.put(r);
+            b.putInt(start + 1, slot);
+            this.align(start);
+        }
+
+        /**
+         * Moves the record that was just written to the next page if it crosses a
+         * page boundary and fits in a page
+         */
+        private void align(int start) {
+            int end = b.position();
+            int size = end - start;
+            int next = ((start / PAGE_SIZE) + 1) * PAGE_SIZE;
+            if (end > next && size <= PAGE_SIZE && start % PAGE_SIZE != 0) {
+                // Move the record to the next page so it does not cross the boundary
+                ensure(next + size - end);
+                byte[] a = b.array();
+                System.arraycopy(a, start, a, next, size);
+                java.util.Arrays.fill(a, start, next, PAD);
+                b.position(next + size);
+            }
+        }
+
+        private void cell(DBElement<?> e) {
+            byte type = (e == null) ? NULL : typeOf(e);
+            ensure(5);
+            int start = b.position();
+            b.put(type);
+            b.putInt(0);
+            if (type != NULL && !writeBody(this, type, e)) {
+                b.put(start, NULL); // The element expired, so the cell is empty
+                b.position(start + 5);
+            }
+            b.putInt(start + 1, b.position() - start - 5);
+        }
+
+        private void cells(List<? extends DBElement<?>> data) {
+            ensure(4);
+            b.putInt(data.size());
+            for (int i = 0; i < data.size(); i++) {
+                cell(data.get(i));
+            }
+        }
+    }
+}
@@ -23,17 +23,41 @@
 
 package io.github.demnetwork.sjdb;
 
-import java.io.FileWriter;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Base64.Encoder;
-import java.util.Scanner;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import io.github.demnetwork.sjdb.compression.Codec;
+import io.github.demnetwork.sjdb.compression.Codecs;
 import io.github.demnetwork.sjdb.cryptography.AES;
 import io.github.demnetwork.sjdb.dbelements.*;
 import io.github.demnetwork.sjdb.exceptions.*;
 import io.github.demnetwork.sjdb.internal.GetInvoker;
 import io.github.demnetwork.sjdb.logging.DatabaseLogger;
-import java.io.File;
 
 /**
  * Represents the database file.
@@ -43,19 +67,57 @@ import java.io.File;
  */
 public final class Database {
     private String ddata;
+    private DBRootElement snapshot;
     private boolean isNuked;
     private String key;
     private String salt;
     private static final AES AES_Utility;
+    // Writes the snapshots of saveAsync(String, String), one at a time
+    private static final ExecutorService SAVE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Database_Save");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ArrayDeque<CompletableFuture<Void>> saves = new ArrayDeque<>(); // Asynchronous saves in progress
     private final String path;
     private DBRootElement root;
     public static final int BUILD_NUMBER = 1;
     public static final String VERSION = "v1.0.0";
-    public static final int SUPPORTED_DATABASE_FORMAT_VERSION = 1;
+    public static final int SUPPORTED_DATABASE_FORMAT_VERSION = 2;
+    /**
+     * The Database Format Version of the tag-string format, also used by
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement#DBRootElement(String)
+     * DBRootElement(String)}
+     */
+    public static final int TEXT_DATABASE_FORMAT_VERSION = 1;
+    /**
+     * A chunk size for {@link #setChunkSize(int)}, 64 KiB
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * BinaryDatabaseFormat.PAGE_SIZE;
     public SecurityException lastSecurityException;
     public Exception lastException;
     public Throwable lastThrowable;
     private DatabaseLogger l;
+    private int dfv;
+    private byte[] dataKey; // Data-encryption key of the key wrapping mode, null when it is disabled
+    private byte[] wrappedDataKey;
+    private long dataKeyTime;
+    private Codec codec = Codecs.NONE;
+    private int chunkSize; // 0 when the payload is encrypted as one stream
+    private String credentialHash; // Of the last save or access
+    private byte[] checkpointId; // Starts with the IV of the payload of the Database file, DFV_2 only
+    private JournalPolicy journalPolicy;
+    private Journal journal;
+    private final LinkedHashSet<Integer> dirtySlots = new LinkedHashSet<>(); // Waiting to be written to the journal
+    private final CopyOnWriteArrayList<DatabaseListener> listeners = new CopyOnWriteArrayList<>();
+    private final DBRootElement.ChangeListener rootListener = (r, index) -> {
+        if (this.journal != null) {
+            this.journalChanged(index);
+        }
+        for (DatabaseListener dl : this.listeners) {
+            dl.rootModified(this, index);
+        }
+    };
 
     static {
         AES_Utility = new AES(256, 65536);
@@ -83,25 +145,98 @@ public final class Database {
         this.key = key;
         this.salt = salt;
         this.root = root;
+        this.root.addChangeListener(this.rootListener);
         this.path = path;
         this.isNuked = false;
         this.l = null;
+        this.dfv = TEXT_DATABASE_FORMAT_VERSION;
         this.method_0001a();
     }
 
     /**
      * This method is used to save the {@link io.github.demnetwork.sjdb.Database
      * Database} to a file
+     * <p>
+     * The file is replaced atomically, if the save fails the file keeps its
+     * previous content.
+     * </p>
      * 
      * @param user     new Username
      * @param password new Password
      * @throws java.lang.Throwable
      */
     public void save(String user, String password) throws Throwable {
+        this.awaitSaves(0);
         if (!isNuked) {
             this.method_0001a();
         }
         long cTime = System.currentTimeMillis();
+        String[] c = this.credentials(user, password);
+        this.write(c[0], c[1], cTime);
+    }
+
+    /**
+     * Saves the {@link io.github.demnetwork.sjdb.Database Database} in a
+     * background thread.
+     * <p>
+     * The snapshot of the root is taken before this method returns, so the
+     * changes made afterwards are not saved. The snapshot is encrypted and
+     * written by the background thread, while the next snapshot can be taken.
+     * If two saves are still being written this method waits for the oldest one.
+     * The {@link io.github.demnetwork.sjdb.DatabaseListener#saved(Database)
+     * saved} event is fired in the background thread.
+     * </p>
+     * 
+     * @param user     new Username
+     * @param password new Password
+     * @return A future that is completed when the file was replaced
+     * @throws IllegalStateException If the journal is enabled, a checkpoint
+     *                               must be used instead
+     * @throws java.lang.Throwable
+     */
+    public CompletableFuture<Void> saveAsync(String user, String password) throws Throwable {
+        if (isNuked) {
+            throw new BadDataBaseState();
+        }
+        if (journal != null) {
+            throw new IllegalStateException("Asynchronous saves are not supported while the journal is enabled");
+        }
+        this.awaitSaves(1); // One save may still be written while this one is prepared
+        this.method_0001a();
+        long cTime = System.currentTimeMillis();
+        String[] c = this.credentials(user, password);
+        SaveTask t = this.prepare(c[0], c[1], cTime);
+        CompletableFuture<Void> f = CompletableFuture.runAsync(() -> {
+            try {
+                this.saved(c[0], t, t.write());
+            } catch (Throwable err) {
+                this.lastThrowable = err;
+                throw new CompletionException(err);
+            }
+        }, SAVE_EXECUTOR);
+        this.saves.add(f);
+        return f;
+    }
+
+    /**
+     * Waits until at most <code>max</code> asynchronous saves are being written,
+     * their failures are reported by their futures
+     */
+    private void awaitSaves(int max) {
+        while (this.saves.size() > max) {
+            try {
+                this.saves.poll().join();
+            } catch (CompletionException | CancellationException err) {
+                // Reported by the future returned by saveAsync(String, String)
+            }
+        }
+        this.saves.removeIf(CompletableFuture::isDone);
+    }
+
+    /**
+     * @return The credential hash and the key derived from the credentials
+     */
+    private String[] credentials(String user, String password) {
         MessageDigest hash;
         byte[] sha3512hash = new byte[64];
         byte[] b64data;
@@ -130,14 +265,390 @@ public final class Database {
                             + (Byte.toUnsignedInt(sha3512hash[i + 2]) * 65536)
                             + (Byte.toUnsignedInt(sha3512hash[i + 3])) * 16777216);
         }
-        key = (sHash + user + user.length() + b64sdata + password + password.length());
-        salt = "ef9da3c" + cTime;
-        String data = AES_Utility.encrypt(ddata, key, salt);
+        return new String[] { sHash, (sHash + user + user.length() + b64sdata + password + password.length()) };
+    }
+
+    private void write(String sHash, String nKey, long cTime) throws Throwable {
+        SaveTask t = this.prepare(sHash, nKey, cTime);
+        this.saved(sHash, t, t.write());
+    }
 
-        FileWriter writeDB = new FileWriter(path, false);
-        writeDB.write("[DATA]\n" + data + "\n[/DATA]\nCRD=" + sHash + cTime + "\nRML=" + root.getMaxElementCount()
-                + "\n");
-        writeDB.close();
+    /**
+     * Writes a snapshot to the file
+     */
+    @FunctionalInterface
+    private interface Write {
+        /**
+         * @return The checkpoint id of a DFV_2 file, or null
+         */
+        byte[] write() throws Throwable;
+    }
+
+    /**
+     * A save of a snapshot and the keys it is encrypted with. The keys replace
+     * the keys of the Database only once the file was written, so a failed save
+     * leaves them matching the file
+     */
+    private static final class SaveTask {
+        private final String key;
+        private final String salt;
+        private final byte[] dataKey; // The data-encryption key that was wrapped, or null
+        private final byte[] wrappedKey;
+        private final long keyTime;
+        private final Write write;
+
+        private SaveTask(String key, String salt, byte[] dataKey, byte[] wrappedKey, long keyTime, Write write) {
+            this.key = key;
+            this.salt = salt;
+            this.dataKey = dataKey;
+            this.wrappedKey = wrappedKey;
+            this.keyTime = keyTime;
+            this.write = write;
+        }
+
+        private byte[] write() throws Throwable {
+            return this.write.write();
+        }
+    }
+
+    /**
+     * Derives the keys for a save of the current snapshot, the returned task only
+     * uses what is captured here, so it can run in another thread
+     */
+    private SaveTask prepare(String sHash, String nKey, long cTime) throws Throwable {
+        final Path p = Path.of(path);
+        final DBRootElement s = this.snapshot;
+        final int rml = BinaryDatabaseFormat.rootLength(s);
+        final String d = isNuked ? ddata : null;
+        final Codec c = this.codec;
+        final int cs = this.chunkSize;
+        if (dfv == BinaryDatabaseFormat.DFV && dataKey != null) {
+            // The data-encryption key only has to be wrapped again when the credentials change
+            String sl = salt;
+            byte[] wk = wrappedDataKey;
+            long t = dataKeyTime;
+            if (wk == null || !nKey.equals(key)) {
+                sl = "ef9da3c" + cTime;
+                wk = AES_Utility.encrypt(dataKey, nKey, sl);
+                t = cTime;
+            }
+            final byte[] fwk = wk;
+            final long ft = t;
+            final byte[] k = dataKey.clone(); // The key wrapping mode may be disabled before the task runs
+            return new SaveTask(nKey, sl, dataKey, wk, t, () -> {
+                try {
+                    return writeBinary(p, sHash, ft, rml, fwk, d, s, c, cs, (b, aad) -> AES_Utility.encrypt(b, k),
+                            (b, aad) -> AES_Utility.encryptChunk(b, k, aad));
+                } finally {
+                    Arrays.fill(k, (byte) 0);
+                }
+            });
+        }
+        final String k = nKey;
+        final String sl = "ef9da3c" + cTime;
+        if (dfv == BinaryDatabaseFormat.DFV) {
+            return new SaveTask(k, sl, null, null, 0L, () -> writeBinary(p, sHash, cTime, rml, null, d, s, c, cs,
+                    (b, aad) -> AES_Utility.encrypt(b, k, sl), (b, aad) -> AES_Utility.encryptChunk(b, k, sl, aad)));
+        }
+        return new SaveTask(k, sl, null, null, 0L, () -> {
+            AtomicFileWriter.write(p, ch -> {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(ch));
+                out.write("[DATA]\n".getBytes(StandardCharsets.UTF_8));
+                // The Base64 and cipher streams are closed before the trailer is written
+                // so their final blocks are flushed, but the file must remain open
+                OutputStream body = new FilterOutputStream(out) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        out.flush();
+                    }
+                };
+                try (Writer w = new BufferedWriter(new OutputStreamWriter(
+                        AES_Utility.encrypt(Base64.getEncoder().wrap(body), k, sl), StandardCharsets.UTF_8))) {
+                    if (d != null) {
+                        w.write(d);
+                    } else {
+                        s.writeTo(w);
+                    }
+                }
+                // A root that grows has no RML line
+                out.write(("\n[/DATA]\nCRD=" + sHash + cTime + "\n" + ((rml < 0) ? "" : "RML=" + rml + "\n"))
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Encodes, compresses, encrypts and writes a DFV_2 file with its element
+     * directory
+     * 
+     * @param nuked  The data of a nuked Database, or null
+     * @param stream Encrypts the payload or the directory as one stream, without
+     *               associated data
+     * @param chunk  Encrypts a chunk, when <code>cs</code> is not 0
+     * @return The checkpoint id
+     */
+    private static byte[] writeBinary(Path p, String sHash, long time, int rml, byte[] wk, String nuked,
+            DBRootElement s, Codec c, int cs, BinaryDatabaseFormat.ChunkCipher stream,
+            BinaryDatabaseFormat.ChunkCipher chunk) throws Throwable {
+        ByteBuffer payload = (nuked != null) ? ByteBuffer.wrap(nuked.getBytes(StandardCharsets.UTF_8))
+                : BinaryDatabaseFormat.encode(s);
+        int length = payload.remaining();
+        ByteBuffer directory = (nuked != null) ? null : BinaryDatabaseFormat.directory(payload);
+        int directoryLength = (directory == null) ? 0 : directory.remaining();
+        final ByteBuffer[] encrypted;
+        final BinaryDatabaseFormat.Chunks chunks;
+        if (cs == 0) {
+            encrypted = new ByteBuffer[(directory == null) ? 1 : 2];
+            encrypted[0] = stream.apply(c.compress(payload), null);
+            chunks = null;
+        } else {
+            BinaryDatabaseFormat.SealedPayload sp = BinaryDatabaseFormat.seal(payload, cs, directory != null, c, chunk);
+            encrypted = Arrays.copyOf(sp.data, sp.data.length + ((directory == null) ? 0 : 1));
+            chunks = sp.chunks;
+        }
+        if (directory != null) {
+            // Encrypted like one more chunk, so it is authenticated with its own index
+            encrypted[encrypted.length - 1] = (cs == 0) ? stream.apply(c.compress(directory), null)
+                    : chunk.apply(c.compress(directory), chunks.aad(chunks.count()));
+        }
+        BinaryDatabaseFormat.Header h = new BinaryDatabaseFormat.Header(sHash, time, rml, 0L, wk, c.getId(), length,
+                chunks, (directory == null) ? 0 : encrypted[encrypted.length - 1].remaining(), directoryLength);
+        AtomicFileWriter.write(p, ch -> BinaryDatabaseFormat.write(ch, h, encrypted));
+        return Journal.checkpointId(encrypted[0]);
+    }
+
+    private void saved(String sHash, SaveTask t, byte[] checkpointId) throws IOException {
+        this.key = t.key;
+        this.salt = t.salt;
+        if (t.dataKey != null && t.dataKey == this.dataKey) {
+            // Unless the key wrapping mode was changed while the file was written
+            this.wrappedDataKey = t.wrappedKey;
+            this.dataKeyTime = t.keyTime;
+        }
+        if (checkpointId != null) {
+            this.checkpointed(sHash, checkpointId);
+        } else {
+            this.credentialHash = sHash;
+            this.checkpointId = null;
+        }
+        this.fireSaved();
+    }
+
+    /**
+     * Invoked after the Database file was written in the Database Format Version
+     * 2, the journal is bound to the new file
+     */
+    private void checkpointed(String sHash, byte[] checkpointId) throws IOException {
+        this.credentialHash = sHash;
+        this.checkpointId = checkpointId;
+        this.dirtySlots.clear();
+        if (this.journal != null) {
+            this.journal.reset(this.checkpointId, this.journalPolicy.isSync());
+        }
+    }
+
+    /**
+     * Writes the whole {@link io.github.demnetwork.sjdb.Database Database} to its
+     * file with the credentials of the last save or access, and empties the
+     * journal.
+     * 
+     * @throws IllegalStateException If the Database was not saved or accessed
+     * @throws java.lang.Throwable
+     */
+    public void checkpoint() throws Throwable {
+        if (isNuked) {
+            throw new BadDataBaseState();
+        }
+        this.awaitSaves(0);
+        if (credentialHash == null) {
+            throw new IllegalStateException("The Database was not saved or accessed");
+        }
+        this.method_0001a();
+        this.write(credentialHash, key, System.currentTimeMillis());
+    }
+
+    /**
+     * Enables the journal, changes its policy or disables it.
+     * <p>
+     * While the journal is enabled, the slots of the root that are changed are
+     * appended to the file <code>path + ".journal"</code> as encrypted records, so
+     * a change does not require the whole Database to be saved. The journal is
+     * emptied every time the Database is saved, and its records are applied when
+     * the Database is accessed or updated.
+     * </p>
+     * <p>
+     * When the journal is disabled, the changes that were not committed are only
+     * kept in memory until the next save.
+     * </p>
+     * <p>
+     * A slot is changed when it is set or reset, or when the element it holds is
+     * changed through its setters. The elements held by arrays and tables, like
+     * the ones returned by
+     * {@link io.github.demnetwork.sjdb.dbelements.arrays.DBIntegerArray#get(int)
+     * DBIntegerArray.get(int)} or
+     * {@link io.github.demnetwork.sjdb.dbelements.table.DBTable2C#getCol1(int)
+     * DBTable2C.getCol1(int)}, are not held by the root, so changing them in place
+     * does not change the slot of the array or table. Such a slot must be set
+     * again, with {@link #setElement(DBElement, int)}, for the change to be
+     * journaled; otherwise it is only written by the next save or checkpoint.
+     * </p>
+     * 
+     * @param policy The policy of the journal, or null to disable it
+     * @throws IllegalStateException If the Database does not use the Database
+     *                               Format Version 2 or was not saved or accessed
+     * @throws IOException           If the journal cannot be opened
+     */
+    public void setJournalPolicy(JournalPolicy policy) throws IOException {
+        if (policy == null) {
+            this.closeJournal();
+            return;
+        }
+        if (dfv != BinaryDatabaseFormat.DFV) {
+            throw new IllegalStateException("The journal requires the Database Format Version 2");
+        }
+        this.awaitSaves(0);
+        if (checkpointId == null) {
+            throw new IllegalStateException("The Database must be saved or accessed before the journal is enabled");
+        }
+        if (journal == null) {
+            journal = Journal.open(Journal.pathOf(path), checkpointId, policy.isSync());
+        }
+        this.journalPolicy = policy;
+    }
+
+    /**
+     * @return The policy of the journal, or null if it is disabled
+     */
+    public JournalPolicy getJournalPolicy() {
+        return this.journalPolicy;
+    }
+
+    /**
+     * Writes the changes that are waiting for the group of the journal to be
+     * complete. It does nothing if the journal is disabled. The elements of arrays
+     * and tables that were changed in place are not written, see
+     * {@link #setJournalPolicy(JournalPolicy)}.
+     * 
+     * @throws java.lang.Throwable
+     */
+    public void commit() throws Throwable {
+        if (this.journal == null || this.dirtySlots.isEmpty()) {
+            return;
+        }
+        List<byte[]> records = new ArrayList<>(this.dirtySlots.size());
+        for (int slot : this.dirtySlots) {
+            Object o = root.isOccupied(slot) ? root.get(slot) : null;
+            byte[] record = BinaryDatabaseFormat.encodeSlot(o, slot);
+            records.add((dataKey != null) ? AES_Utility.encrypt(record, dataKey)
+                    : AES_Utility.encrypt(record, key, salt));
+        }
+        this.journal.append(records, this.journalPolicy.isSync());
+        this.dirtySlots.clear();
+        int interval = this.journalPolicy.getCheckpointInterval();
+        if (interval > 0 && this.journal.records() >= interval) {
+            this.checkpoint();
+        }
+    }
+
+    private void journalChanged(int index) {
+        try {
+            if (index < 0) {
+                this.checkpoint(); // All the slots were replaced
+                return;
+            }
+            this.dirtySlots.add(index);
+            if (this.dirtySlots.size() >= this.journalPolicy.getGroupSize()) {
+                this.commit();
+            }
+        } catch (IOException ioe) {
+            this.lastException = ioe;
+            throw new UncheckedIOException("Unable to write the journal", ioe);
+        } catch (RuntimeException | Error err) {
+            throw err;
+        } catch (Throwable t) {
+            this.lastThrowable = t;
+            throw new IllegalStateException("Unable to write the journal", t);
+        }
+    }
+
+    private void closeJournal() {
+        if (this.journal == null) {
+            return;
+        }
+        try {
+            this.journal.close();
+        } catch (IOException ioe) {
+            this.lastException = ioe;
+        }
+        this.journal = null;
+        this.journalPolicy = null;
+        this.dirtySlots.clear();
+    }
+
+    /**
+     * Applies the records of the journal that belong to the Database file to a
+     * root, before it becomes the root of this Database
+     * 
+     * @param root              The root read from the Database file
+     * @param sHash             The credential hash of the Database file
+     * @param encryptedPayload  The payload of the Database file
+     */
+    void replayJournal(DBRootElement root, String sHash, ByteBuffer encryptedPayload) throws Throwable {
+        byte[] id = Journal.checkpointId(encryptedPayload);
+        for (byte[] r : Journal.read(Journal.pathOf(path), id)) {
+            byte[] record = (dataKey != null) ? AES_Utility.decrypt(r, dataKey) : AES_Utility.decrypt(r, key, salt);
+            BinaryDatabaseFormat.decodeSlot(ByteBuffer.wrap(record), root);
+        }
+        this.credentialHash = sHash;
+        this.dirtySlots.clear();
+        if (this.journal != null && !Arrays.equals(id, this.checkpointId)) {
+            // The file was saved by another instance
+            this.journal.close();
+            this.journal = Journal.open(Journal.pathOf(path), id, this.journalPolicy.isSync());
+        }
+        this.checkpointId = id;
+    }
+
+    /**
+     * Adds a listener that is notified when this
+     * {@link io.github.demnetwork.sjdb.Database Database} is changed
+     * 
+     * @param l The listener
+     */
+    public void addListener(DatabaseListener l) {
+        if (l == null) {
+            throw new NullPointerException("The listener is null");
+        }
+        this.listeners.add(l);
+    }
+
+    public void removeListener(DatabaseListener l) {
+        this.listeners.remove(l);
+    }
+
+    private void fireSaved() {
+        for (DatabaseListener dl : this.listeners) {
+            dl.saved(this);
+        }
+    }
+
+    private void replaceRoot(DBRootElement root) {
+        if (this.root == root) {
+            return;
+        }
+        this.root.removeChangeListener(this.rootListener);
+        root.addChangeListener(this.rootListener);
+        this.root = root;
+        for (DatabaseListener dl : this.listeners) {
+            dl.rootReplaced(this);
+        }
     }
 
     public void setElement(DBElement<?> e, int index) {
@@ -152,6 +663,133 @@ public final class Database {
         return root;
     }
 
+    /**
+     * @return The Database Format Version used when this
+     *         {@link io.github.demnetwork.sjdb.Database Database} is saved
+     */
+    public int getFormatVersion() {
+        return this.dfv;
+    }
+
+    void setFormatVersion(int dfv) {
+        DatabaseManager.DatabaseParsers.get(dfv); // Throws if the format does not exist
+        this.dfv = dfv;
+        if (dfv != BinaryDatabaseFormat.DFV) {
+            this.closeJournal();
+            this.setKeyWrapping(false);
+            this.codec = Codecs.NONE;
+            this.chunkSize = 0;
+        }
+    }
+
+    /**
+     * Enables or disables the key wrapping mode.
+     * <p>
+     * When it is enabled, the data is encrypted with a random data-encryption key
+     * that is generated once for this {@link io.github.demnetwork.sjdb.Database
+     * Database}. That key is encrypted with the key derived from the credentials
+     * and stored in the header of the file, so it only has to be derived again
+     * when the credentials change, and a
+     * {@link io.github.demnetwork.sjdb.Database#save(String, String) save} with
+     * the same credentials only encrypts the data.
+     * </p>
+     * 
+     * @param enabled The new state of the mode
+     * @throws IllegalStateException If it is enabled while the Database does not
+     *                               use the Database Format Version 2, or it is
+     *                               changed while the journal is enabled
+     */
+    public void setKeyWrapping(boolean enabled) {
+        if (enabled != (dataKey != null) && journal != null) {
+            // The records of the journal must be encrypted with the key of the Database file
+            throw new IllegalStateException("The key wrapping mode cannot be changed while the journal is enabled");
+        }
+        if (enabled) {
+            if (dfv != BinaryDatabaseFormat.DFV) {
+                throw new IllegalStateException("Key wrapping requires the Database Format Version 2");
+            }
+            if (dataKey == null) {
+                dataKey = AES_Utility.generateKey();
+                wrappedDataKey = null;
+            }
+        } else if (dataKey != null) {
+            Arrays.fill(dataKey, (byte) 0);
+            dataKey = null;
+            wrappedDataKey = null;
+        }
+    }
+
+    public boolean isKeyWrapping() {
+        return this.dataKey != null;
+    }
+
+    /**
+     * Sets the codec that compresses the data before it is encrypted, when the
+     * {@link io.github.demnetwork.sjdb.Database Database} is saved. The codec is
+     * recorded in the header of the file.
+     * 
+     * @param codec The codec, {@link io.github.demnetwork.sjdb.compression.Codecs#NONE
+     *              Codecs.NONE} to disable the compression
+     * @throws IllegalStateException If the Database does not use the Database
+     *                               Format Version 2
+     * 
+     * @see io.github.demnetwork.sjdb.compression.Codecs
+     */
+    public void setCodec(Codec codec) {
+        if (codec == null) {
+            throw new NullPointerException("The codec is null");
+        }
+        if (dfv != BinaryDatabaseFormat.DFV && codec != Codecs.NONE) {
+            throw new IllegalStateException("Compression requires the Database Format Version 2");
+        }
+        this.codec = codec;
+    }
+
+    public Codec getCodec() {
+        return this.codec;
+    }
+
+    /**
+     * Sets the size of the chunks of the block-structured mode. When it is
+     * enabled, the data is split in chunks of that many bytes, that are
+     * compressed and encrypted with AES-GCM one by one, and the header of the
+     * file holds an index of the chunks. The chunks are encrypted and decrypted
+     * in parallel, and a reader may decrypt only the chunks that hold the
+     * elements it needs.
+     * 
+     * @param chunkSize Bytes of data in each chunk, a multiple of 4096, like
+     *                  {@link #DEFAULT_CHUNK_SIZE}. 0 encrypts the data as one
+     *                  stream
+     * @throws IllegalArgumentException If the chunk size is not a multiple of
+     *                                  4096
+     * @throws IllegalStateException    If the block-structured mode is enabled
+     *                                  while the Database does not use the
+     *                                  Database Format Version 2
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 0 || chunkSize % BinaryDatabaseFormat.PAGE_SIZE != 0) {
+            throw new IllegalArgumentException("The chunk size must be a multiple of "
+                    + BinaryDatabaseFormat.PAGE_SIZE + ": " + chunkSize);
+        }
+        if (dfv != BinaryDatabaseFormat.DFV && chunkSize != 0) {
+            throw new IllegalStateException("Chunks require the Database Format Version 2");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return The size of the chunks, 0 when the data is encrypted as one stream
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    void setDataKey(byte[] dataKey, byte[] wrappedDataKey, long time) {
+        this.dataKey = dataKey;
+        this.wrappedDataKey = wrappedDataKey;
+        this.dataKeyTime = time;
+    }
+
     /**
      * It updates the data of the {@link io.github.demnetwork.sjdb.Database}
      */
@@ -159,19 +797,42 @@ public final class Database {
         if (isNuked) {
             throw new BadDataBaseState();
         }
+        this.awaitSaves(0);
         try {
-            String db_data = "";
-            Scanner rd = new Scanner(new File(path));
-            while (rd.hasNextLine()) {
-                if (rd.nextLine().startsWith("CRD = ")) {
-                } else if (rd.nextLine().startsWith("[DATA] ") || rd.nextLine().startsWith(" [/DATA]")
-                        || rd.nextLine().startsWith("RML = ")) {
-                } else {
-                    db_data = db_data + rd.nextLine();
+            if (dfv == BinaryDatabaseFormat.DFV) {
+                try (FileChannel ch = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+                    BinaryDatabaseFormat.Header h = BinaryDatabaseFormat.readHeader(ch);
+                    ByteBuffer payload = BinaryDatabaseFormat.readPayload(ch, h);
+                    ByteBuffer data;
+                    if (h.wrappedKey == null) {
+                        final String k = key;
+                        final String sl = salt;
+                        data = (h.chunks == null) ? AES_Utility.decrypt(payload, k, sl)
+                                : BinaryDatabaseFormat.open(h, payload, 0, h.chunks.count(),
+                                        (b, aad) -> AES_Utility.decryptChunk(b, k, sl, aad));
+                    } else {
+                        if (dataKey == null || !Arrays.equals(h.wrappedKey, wrappedDataKey)) {
+                            this.setDataKey(AES_Utility.decrypt(h.wrappedKey, key, salt), h.wrappedKey, h.time);
+                        }
+                        final byte[] k = dataKey;
+                        data = (h.chunks == null) ? AES_Utility.decrypt(payload, k)
+                                : BinaryDatabaseFormat.open(h, payload, 0, h.chunks.count(),
+                                        (b, aad) -> AES_Utility.decryptChunk(b, k, aad));
+                    }
+                    if (h.chunks == null) {
+                        data = BinaryDatabaseFormat.decompress(h, data);
+                    }
+                    DBRootElement r = DatabaseManager.DatabaseParsers.get(BinaryDatabaseFormat.DFV).getBinaryParser()
+                            .parse(data, BinaryDatabaseFormat.newRoot(h.rootLength));
+                    this.replayJournal(r, h.credentialHash, payload);
+                    this.replaceRoot(r);
                 }
+                return;
+            }
+            try (FileChannel ch = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+                ByteBuffer data = TextDatabaseFormat.readPayload(ch, TextDatabaseFormat.readTrailer(ch));
+                this.parse(TextDatabaseFormat.decodeText(AES_Utility.decrypt(data, key, salt)));
             }
-            rd.close();
-            this.parse(AES_Utility.decrypt(db_data, key, salt));
         } catch (Throwable err) {
             this.lastThrowable = err;
         }
@@ -185,7 +846,7 @@ public final class Database {
         try {
             isNuked = true;
             MessageDigest md = MessageDigest.getInstance("SHA3-512");
-            String s = new String(md.digest(ddata.getBytes()));
+            String s = new String(md.digest((snapshot != null ? snapshot : root).toString().getBytes()));
             ddata = AES_Utility.encrypt(s, "f78hwe7fuwea9dawsuhdcaz9dx7uhaidasduewieoioefchufehf",
                     ((int) (Math.random() * 10000000)) + "ewg8h9ewrfgh79wefc8uyweyugfdweuoyfgyuwe"
                             + System.currentTimeMillis());
@@ -193,9 +854,14 @@ public final class Database {
                     "PASSWORDisSAFE"
                             + ((int) (Math.random() * 10000000)) + "LOLewg8h9ewrfgh79wefc8uyweyugfdweuo"
                             + System.currentTimeMillis());
+            this.closeJournal();
+            Journal.delete(Journal.pathOf(path));
         } catch (Throwable t) {
             this.lastThrowable = t;
         }
+        for (DatabaseListener dl : this.listeners) {
+            dl.nuked(this);
+        }
     }
 
     /**
@@ -212,22 +878,18 @@ public final class Database {
                     "Access Denied: Class \'" + c.getName() + "\' access to \'Database.method_0001a()\' was denied");
         }
         try {
-            ddata = root.clone().toString();
-        } catch (SecurityException se) {
-            // If the current SecurityManager does not allow any of the operations made by
-            // DBRootElement.clone(), this will be invoked to prevent issues
-            ddata = root.toString();
-            this.lastSecurityException = se;
+            snapshot = root.clone();
         } catch (Exception e) {
-            ddata = root.toString(); // Get a string representation without using the clone due to cloning failure
+            snapshot = root; // Write the root without using the clone due to cloning failure
             this.lastException = e;
         }
     }
 
     private void parse(String s) {
         try {
-            root = DatabaseManager.DatabaseParsers.get(Database.SUPPORTED_DATABASE_FORMAT_VERSION).getParser().parse(s,
-                    root);
+            this.replaceRoot(DatabaseManager.DatabaseParsers.get(Database.TEXT_DATABASE_FORMAT_VERSION).getParser()
+                    .parse(s, root.isGrowable() ? new DBRootElement()
+                            : new DBRootElement(root.getMaxElementCount())));
         } catch (Exception e) {
             this.lastException = e;
         }
@@ -252,6 +914,9 @@ public final class Database {
         if (this.root == root) {
             throw new IllegalArgumentException("The new root and the current root point to the same Object in memory!");
         }
-        this.root = root;
+        this.replaceRoot(root);
+        if (this.journal != null) {
+            this.journalChanged(-1);
+        }
     }
 }
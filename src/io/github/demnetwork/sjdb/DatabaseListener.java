@@ -0,0 +1,65 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb;
+
+/**
+ * Listens to the changes made to a {@link io.github.demnetwork.sjdb.Database
+ * Database}.
+ * <p>
+ * The methods are invoked by the thread that made the change, right after it
+ * was made. All the methods do nothing by default.
+ * </p>
+ * 
+ * @see io.github.demnetwork.sjdb.Database#addListener(DatabaseListener)
+ * @since SJDB v1.0.0
+ */
+public interface DatabaseListener {
+    /**
+     * Invoked after a slot of the root was changed.
+     * 
+     * @param db    The Database
+     * @param index The index of the slot, or -1 when all the slots were replaced
+     */
+    public default void rootModified(Database db, int index) {
+    }
+
+    /**
+     * Invoked after the root of the Database was replaced, for example by
+     * {@link io.github.demnetwork.sjdb.Database#update() Database.update()}.
+     */
+    public default void rootReplaced(Database db) {
+    }
+
+    /**
+     * Invoked after the Database was saved.
+     */
+    public default void saved(Database db) {
+    }
+
+    /**
+     * Invoked after the Database was nuked.
+     */
+    public default void nuked(Database db) {
+    }
+}
@@ -24,13 +24,15 @@
 package io.github.demnetwork.sjdb;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.util.Base64;
-import java.util.Scanner;
 import javax.crypto.BadPaddingException;
 import java.util.Base64.Encoder;
+import io.github.demnetwork.sjdb.compression.Codecs;
 import io.github.demnetwork.sjdb.cryptography.AES;
 import io.github.demnetwork.sjdb.dbelements.DBInteger;
 import io.github.demnetwork.sjdb.dbelements.DBRootElement;
@@ -43,7 +45,7 @@ import io.github.demnetwork.sjdb.internal.*;
 import io.github.demnetwork.sjdb.internal.Warning.WarningDescription;
 
 public final class DatabaseManager {
-    private final AES AES_Utility = new AES(256, 65536);
+    private static final AES AES_Utility = new AES(256, 65536);
     public static final int BUILD_NUMBER = 1;
     public static final String VERSION = "v1.0.0";
     private final String DEFAULT_DATA = "\n";
@@ -109,69 +111,33 @@ public final class DatabaseManager {
         }
         // System.out.println(sHash);
         File db = new File(path);
-        Scanner rd = new Scanner(db);
-        String dbHash = "";
-        long dbTime = 0;
-        boolean found = false;
-        int fTimes = 0;
-        while (rd.hasNextLine()) {
-            String s = rd.nextLine();
-            // System.out.println(s);
-            if (s.startsWith("CRD=")) {
-                found = true;
-                fTimes += 1;
-                dbHash = s.substring(4, 131);
-                try {
-                    dbTime = Long.parseLong(s.substring(131));
-                } catch (NumberFormatException nfe) {
-                    rd.close();
-                    throw new IllegalDatabaseFormat("Database is not formatted correctly. ", nfe);
-                }
-                // System.out.println(dbHash);
+        try (FileChannel ch = FileChannel.open(db.toPath(), StandardOpenOption.READ)) {
+            if (BinaryDatabaseFormat.isBinaryDatabase(ch)) {
+                return this.accessBinary(ch, db, user, password, sHash, b64sdata);
             }
-        }
-        rd.close();
-        if (found != true || fTimes > 1) {
-            throw new IllegalDatabaseFormat();
-        }
-        if (!(dbHash.equals(sHash))) {
-            throw new BadCredentialsException();
-        }
-        if (dbTime <= 0) {
-            throw new IllegalDatabaseFormat();
-        }
-        String db_data = "";
-        Scanner rd2 = new Scanner(db);
-        int rml = 0;
-        boolean rmls = false;
-        while (rd2.hasNextLine()) {
-            String s = rd2.nextLine();
-            if (s.startsWith("CRD=")) {
-            } else if (s.startsWith("[DATA]") || s.startsWith("[/DATA]")
-                    || s.startsWith("RML=")) {
-                if (s.startsWith("RML=")) {
-                    rmls = true;
-                    rml = Integer.parseInt(s.substring(7));
-                }
-            } else {
-                db_data = db_data + s;
+            // The credentials are checked before the payload is read
+            TextDatabaseFormat.Trailer t = TextDatabaseFormat.readTrailer(ch);
+            long dbTime = t.time(sHash);
+            if (dbTime < 0) {
+                throw new BadCredentialsException();
             }
-        }
-        String data = AES_Utility.decrypt(db_data,
-                (dbHash + user + user.length() + b64sdata + password + password.length()), "ef9da3c" + dbTime);
-        rd2.close();
-        try {
-            if (rmls == false) {
-                return new Database(data, path,
-                        (dbHash + user + user.length() + b64sdata + password + password.length()),
-                        ("ef9da3c" + dbTime));
+            if (dbTime == 0) {
+                throw new IllegalDatabaseFormat();
+            }
+            String key = (sHash + user + user.length() + b64sdata + password + password.length());
+            String salt = ("ef9da3c" + dbTime);
+            String data;
+            try {
+                data = TextDatabaseFormat.decodeText(AES_Utility.decrypt(TextDatabaseFormat.readPayload(ch, t),
+                        key, salt));
+            } catch (BadPaddingException bpe) {
+                throw new BadCredentialsException("The Credentials are invalid. ", bpe);
+            }
+            if (t.rootLength < 0) {
+                return new Database(data, path, key, salt);
             } else {
-                return new Database(data, path,
-                        (dbHash + user + user.length() + b64sdata + password + password.length()),
-                        ("ef9da3c" + dbTime), rml);
+                return new Database(data, path, key, salt, t.rootLength);
             }
-        } catch (BadPaddingException bpe) {
-            throw new BadCredentialsException("The Credentials are invalid. ", bpe);
         }
     }
 
@@ -190,7 +156,7 @@ public final class DatabaseManager {
                             "You've made it! You created your own Database. (This message will disappear in 2 minutes)",
                             120),
                     0);
-
+            b.setFormatVersion(Database.SUPPORTED_DATABASE_FORMAT_VERSION);
             b.save(user, password);
         } catch (Throwable err) {
             if (err instanceof IOException) {
@@ -199,104 +165,90 @@ public final class DatabaseManager {
         }
     }
 
-    @SuppressWarnings("unused")
-    private void upgrade(String path, String user, String password, int srcDFV) throws FileNotFoundException {
-        DatabaseParser p = DatabaseParsers.get(srcDFV).getParser();
-        MessageDigest hash;
-        byte[] sha3512hash = new byte[64];
-        byte[] b64data;
-        String b64sdata;
-        if (user.length() >= 64) {
-            throw new InvalidLengthException(user.length());
-        }
-        if (password.length() >= 64) {
-            throw new InvalidLengthException(password.length());
+    /**
+     * Converts a Database file to the latest Database Format Version
+     * ({@link io.github.demnetwork.sjdb.Database#SUPPORTED_DATABASE_FORMAT_VERSION
+     * Database.SUPPORTED_DATABASE_FORMAT_VERSION}).
+     * 
+     * @param path     Location of the Database
+     * @param user     Username
+     * @param password Password
+     * @throws Throwable
+     */
+    public void upgrade(String path, String user, String password) throws Throwable {
+        Database d = this.access(path, user, password);
+        if (d.getFormatVersion() == Database.SUPPORTED_DATABASE_FORMAT_VERSION) {
+            return;
         }
-        Encoder e = Base64.getEncoder();
-        b64data = e.encode((user.length() + "-_-" + password.length()).getBytes());
-        b64sdata = new String(b64data);
         try {
-            hash = MessageDigest.getInstance("SHA3-512");
-            String toDigest = user + password + new String(new char[] { 'e', 'f', '9', 'd', 'a', '3', 'c' }) + " "
-                    + b64sdata;
-            sha3512hash = hash.digest(toDigest.getBytes());
-        } catch (Throwable t) {
-            t.printStackTrace();
-        }
-        String sHash = "";
-        for (int i = 0; i < sha3512hash.length; i += 4) {
-            sHash = sHash + Integer
-                    .toHexString(Byte.toUnsignedInt(sha3512hash[i]) + (Byte.toUnsignedInt(sha3512hash[i + 1]) * 256)
-                            + (Byte.toUnsignedInt(sha3512hash[i + 2]) * 65536)
-                            + (Byte.toUnsignedInt(sha3512hash[i + 3])) * 16777216);
-        }
-        File db = new File(path);
-        Scanner rd = new Scanner(db);
-        String dbHash = "";
-        long dbTime = 0;
-        boolean found = false;
-        int fTimes = 0;
-        while (rd.hasNextLine()) {
-            if (rd.nextLine().startsWith("CRD=")) {
-                found = true;
-                fTimes += 1;
-                dbHash = rd.nextLine().substring(5, 131);
-                try {
-                    dbTime = Long.parseLong(rd.nextLine().substring(131));
-                } catch (NumberFormatException nfe) {
-                    rd.close();
-                    throw new IllegalDatabaseFormat("The database is not formatted properly. ", nfe);
-                }
-            }
-        }
-        rd.close();
-        if (found != true || fTimes > 1) {
-            throw new IllegalDatabaseFormat();
+            d.setFormatVersion(Database.SUPPORTED_DATABASE_FORMAT_VERSION);
+            d.save(user, password);
+        } catch (Throwable err) {
+            throw new IllegalArgumentException("Unable to upgrade Database file", err);
         }
-        if (!(dbHash.equals(sHash))) {
+    }
+
+    private Database accessBinary(FileChannel ch, File db, String user, String password, String sHash,
+            String b64sdata) throws Throwable {
+        BinaryDatabaseFormat.Header h = BinaryDatabaseFormat.readHeader(ch);
+        if (!(h.credentialHash.equals(sHash))) {
             throw new BadCredentialsException();
         }
-        if (dbTime <= 0) {
+        if (h.time <= 0) {
             throw new IllegalDatabaseFormat();
         }
-        String db_data = "";
-        Scanner rd2 = new Scanner(db);
-        int rml = 0;
-        boolean rmls = false;
-        while (rd2.hasNextLine()) {
-            String s = rd2.nextLine();
-            if (s.startsWith("CRD=")) {
-            } else if (s.startsWith("[DATA]") || s.startsWith("[/DATA]")
-                    || s.startsWith("RML=")) {
-                if (s.startsWith("RML=")) {
-                    rmls = true;
-                    rml = Integer.parseInt(s.substring(7));
-                }
+        String key = (sHash + user + user.length() + b64sdata + password + password.length());
+        String salt = ("ef9da3c" + h.time);
+        ByteBuffer payload = BinaryDatabaseFormat.readPayload(ch, h);
+        ByteBuffer directory = BinaryDatabaseFormat.readDirectory(ch, h);
+        ByteBuffer data = null;
+        byte[] dataKey = null;
+        final BinaryDatabaseFormat.ChunkCipher cipher;
+        try {
+            // A payload that is not encrypted in chunks is one stream, without associated data
+            if (h.wrappedKey == null) {
+                cipher = (h.chunks == null) ? (c, aad) -> AES_Utility.decrypt(c, key, salt)
+                        : (c, aad) -> AES_Utility.decryptChunk(c, key, salt, aad);
             } else {
-                db_data = db_data + s;
+                final byte[] k = AES_Utility.decrypt(h.wrappedKey, key, salt);
+                dataKey = k.clone(); // The Database clears its copy when the key wrapping mode is disabled
+                cipher = (h.chunks == null) ? (c, aad) -> AES_Utility.decrypt(c, k)
+                        : (c, aad) -> AES_Utility.decryptChunk(c, k, aad);
             }
+            if (directory != null) {
+                // Checks the credentials before the payload is decrypted
+                directory = BinaryDatabaseFormat.decompressDirectory(h,
+                        cipher.apply(directory, h.directoryAad()));
+            }
+            if (h.chunks == null) {
+                data = BinaryDatabaseFormat.decompress(h, cipher.apply(payload.duplicate(), null));
+            } else if (directory == null) {
+                data = BinaryDatabaseFormat.open(h, payload, 0, h.chunks.count(), cipher);
+            }
+        } catch (BadPaddingException bpe) {
+            // Also thrown by AES-GCM when a chunk does not match its tag
+            throw new BadCredentialsException("The Credentials are invalid. ", bpe);
         }
-        rd2.close();
-        String data = "";
-        try {
-            data = AES_Utility.decrypt(db_data,
-                    (dbHash + user + user.length() + b64sdata + password + password.length()), "ef9da3c" + dbTime);
-        } catch (Throwable err) {
-            throw new IllegalArgumentException("Unable to upgrade Database file", err);
-        }
-        DBRootElement DBroot = null;
-        if (rmls == false) {
-            DBroot = new DBRootElement();
+        DBRootElement root;
+        if (directory == null) {
+            root = DatabaseParsers.DFV_2.getBinaryParser().parse(data, BinaryDatabaseFormat.newRoot(h.rootLength));
         } else {
-            DBroot = new DBRootElement(rml);
+            // The elements are decoded when they are used, only the chunks that hold
+            // them are decrypted
+            LazyPayload records = (h.chunks == null) ? new LazyPayload(h, data, null)
+                    : new LazyPayload(h, payload, cipher);
+            root = BinaryDatabaseFormat.decodeLazy(directory, BinaryDatabaseFormat.newRoot(h.rootLength),
+                    records);
         }
-        DBRootElement DBRoot2 = p.parse(data, DBroot);
-        try {
-            new Database(DBRoot2, path, (dbHash + user + user.length() + b64sdata + password + password.length()),
-                    ("ef9da3c" + dbTime)).save(user, password);
-        } catch (Throwable err) {
-            throw new IllegalArgumentException("Unable to upgrade Database file", err);
+        Database d = new Database(root, db.getPath(), key, salt);
+        d.setFormatVersion(BinaryDatabaseFormat.DFV);
+        d.setCodec(Codecs.get(h.codecId));
+        d.setChunkSize((h.chunks == null) ? 0 : h.chunks.chunkSize);
+        if (dataKey != null) {
+            d.setDataKey(dataKey, h.wrappedKey, h.time);
         }
+        d.replayJournal(root, sHash, payload);
+        return d;
     }
 
     static enum DatabaseParsers {
@@ -305,201 +257,81 @@ public final class DatabaseManager {
                 return parse(s, DBroot, null);
             }
 
-            @SuppressWarnings("unused")
             public DBRootElement parse(String s, DBRootElement DBroot, DatabaseParserExtension DPE) {
+                return parse((CharSequence) s, DBroot, DPE);
+            }
+
+            @Override
+            public DBRootElement parse(CharSequence s, DBRootElement DBroot, DatabaseParserExtension DPE) {
                 final DBRootElement root = DBroot;
+                final TagTokenizer t = new TagTokenizer(s);
                 int ai = 0;
-                for (int i = 0; i < s.length(); i++) {
-                    char c = s.charAt(i);
-                    if (c == '[') {
-                        // System.out.println(s.substring(i));
-                        boolean end = false;
-                        for (int i2 = i; !end; i2++) {
-                            // The code below parses an DBTempElement
-                            if ((s.substring(i2)).startsWith("[TEMPE]")) {
-                                i2 = i2 + "[TEMPE]".length();
-                                // System.out.println(s.substring(i2));
-                                String msg = "";
-                                long duration = 0L;
-                                if ((s.substring(i2).startsWith("[MSG]"))) {
-                                    i2 = i2 + ("[MSG]".length());
-                                    boolean end2 = false;
-                                    for (int i3 = i2; !end2; i3++) {
-                                        char c2 = s.charAt(i3);
-                                        // System.out.println("Char at " + i3 + ": " + c2);
-                                        if (c2 == '[') {
-                                            msg = s.substring(i2, i3);
-                                            i2 = i3 + ("[/MSG]".length());
-                                            end2 = true;
-                                        }
-                                    }
-                                } else {
-                                    throw new IllegalDatabaseFormat(
-                                            "Expected \'[MSG]\' at " + i2 + " but found: \'"
-                                                    + s.substring(i2, i2 + 5) + "\'");
-                                }
-                                if ((s.substring(i2)).startsWith("[DURATION]")) {
-                                    boolean end3 = false;
-                                    i2 = i2 + ("[DURATION]".length());
-                                    // System.out.println((s.substring(i2)));
-                                    for (int i3 = i2; !end3; i3++) {
-                                        char c3 = s.charAt(i3);
-                                        // System.out.println("Char at " + i3 + ": " + c3);
-                                        if (c3 == '[') {
-                                            duration = Long.parseLong(s.substring(i2, i3 - 1));
-                                            i2 = i3 + ("[/DURATION][/TEMPE]".length());
-                                            end3 = true;
-                                        }
-                                    }
-                                } else {
-                                    System.out.println((s.substring(i2)));
-                                    throw new IllegalDatabaseFormat(
-                                            "Expected \'[DURATION]\' at " + i2 + " but found: \'"
-                                                    + s.substring(i2, i2 + 10) + "\'");
-                                }
-                                root.set(ai, new DBTempElement(msg, duration));
-                                ai = ai + 1;
-                                i = i2;
-                                end = true;
-                                // break;
-                            } else if ((s.substring(i2)).startsWith("[INTEGER]")) {
-                                i2 = i2 + ("[INTEGER]".length());
-                                int v = 0;
-                                String s1 = "";
-                                boolean b1 = false;
-                                boolean b2 = false;
-                                if (s.substring(i2).startsWith("[PROPERTIES]")) {
-                                    i2 = i2 + ("[PROPERTIES] name=\'".length());
-                                    boolean end2 = false;
-                                    for (int i3 = i2; !end2; i3++) {
-                                        char c2 = s.charAt(i3);
-                                        // System.out.println(c2);
-                                        if (c2 == '\'') {
-                                            s1 = s.substring(i2, i3);
-                                            i2 = i3 + 10;
-                                            end2 = true;
-                                        }
-                                    }
-                                    i2 += 1;
-                                    if (s.substring(i2).startsWith("true")) {
-                                        b1 = true;
-                                        i2 += 10;
-                                    } else if (s.substring(i2).startsWith("false")) {
-                                        b1 = false;
-                                        i2 += 11;
-                                    } else {
-                                        throw new IllegalDatabaseFormat("Invalid boolean");
-                                    }
-                                    // System.out.println(s.substring(i2));
-                                    if (s.substring(i2).startsWith("true")) {
-                                        b2 = true;
-                                        i2 += 6;
-                                    } else if (s.substring(i2).startsWith("false")) {
-                                        b2 = false;
-                                        i2 += 7;
-                                    } else {
-                                        throw new IllegalDatabaseFormat("Invalid boolean");
-                                    }
-                                    i2 += 23;
-                                } else {
-                                    throw new IllegalDatabaseFormat("Unable to parse Database: Unparseable DBInteger");
-                                }
-                                // System.out.println(s.substring(i2));
-                                boolean end2 = false;
-                                for (int i3 = i2; !end2; i3++) {
-                                    char c2 = s.charAt(i3);
-                                    if (c2 == ' ') {
-                                        v = Integer.parseInt(s.substring(i2, i3));
-                                        i2 = i3 + 20;
-                                        end2 = true;
-                                    }
-                                }
-                                root.set(ai, new DBInteger(s1, v, b1, b2));
-                                ai += 1;
-                                i = i2;
-                                end = true;
-                                // break;
-                            } else if ((s.substring(i2)).startsWith("[STRING]")) {
-                                i2 = i2 + ("[STRING]".length());
-                                String v = "";
-                                String s1 = "";
-                                boolean b1 = false;
-                                boolean b2 = false;
-                                if (s.substring(i2).startsWith("[PROPERTIES]")) {
-                                    i2 = i2 + ("[PROPERTIES] name=\'".length());
-                                    boolean end2 = false;
-                                    for (int i3 = i2; !end2; i3++) {
-                                        char c2 = s.charAt(i3);
-                                        // System.out.println(c2);
-                                        if (c2 == '\'') {
-                                            s1 = s.substring(i2, i3);
-                                            i2 = i3 + 10;
-                                            end2 = true;
-                                        }
-                                    }
-                                    i2 += 1;
-                                    // System.out.println(s.substring(i2));
-                                    if (s.substring(i2).startsWith("true")) {
-                                        b1 = true;
-                                        i2 += 10;
-                                    } else if (s.substring(i2).startsWith("false")) {
-                                        b1 = false;
-                                        i2 += 11;
-                                    } else {
-                                        throw new IllegalDatabaseFormat("Invalid boolean");
-                                    }
-                                    // System.out.println(s.substring(i2));
-                                    if (s.substring(i2).startsWith("true")) {
-                                        b2 = true;
-                                        i2 += 6;
-                                    } else if (s.substring(i2).startsWith("false")) {
-                                        b2 = false;
-                                        i2 += 7;
-                                    } else {
-                                        throw new IllegalDatabaseFormat("Invalid boolean");
-                                    }
-                                    i2 += 23;
-                                } else {
-                                    throw new IllegalDatabaseFormat("Unable to parse Database: Unparseable DBString");
-                                }
-                                // System.out.println(s.substring(i2));
-                                boolean end2 = false;
-                                for (int i3 = i2; !end2; i3++) {
-                                    char c2 = s.charAt(i3);
-                                    if (c2 == '[') {
-                                        v = s.substring(i2, i3);
-                                        i2 = i3 + "[/STRDATA][/STRING]".length();
-                                        end2 = true;
-                                    }
-                                }
-                                root.set(ai, new DBString(v, s1, b1, b2));
-                                ai += 1;
-                                i = i2;
-                                end = true;
-                                // break;
-                            } else {
-                                if (DPE != null) {
-                                    DPE.parse(s.substring(i2), root);
-                                    i2 = DPE.endIndex();
-                                }
-                            }
-                            i = i2;
-                            break;
-                            // System.out.println("Current Index:" + i2 + " (Character: " + s.charAt(i2) +
-                            // ") ");
+                while (t.hasMore()) {
+                    if (t.peek() != '[') {
+                        t.skip(1);
+                    } else if (t.accept("[TEMPE]")) {
+                        // The code below parses an DBTempElement
+                        t.expect("[MSG]");
+                        String msg = t.readUntil("[/MSG]");
+                        t.expect("[DURATION]");
+                        long duration = t.readLong("[/DURATION]");
+                        t.expect("[/TEMPE]");
+                        root.set(ai, new DBTempElement(msg, duration));
+                        ai += 1;
+                    } else if (t.accept("[INTEGER]")) {
+                        if (!t.accept("[PROPERTIES] name=\'")) {
+                            throw new IllegalDatabaseFormat("Unable to parse Database: Unparseable DBInteger");
+                        }
+                        String s1 = t.readUntil("\'; isFinal=");
+                        boolean b1 = t.readBoolean();
+                        t.expect("; fsl=");
+                        boolean b2 = t.readBoolean();
+                        t.expect("; [/PROPERTIES][INTDATA]");
+                        int v = t.readInt("[/INTDATA]");
+                        t.expect("[/INTEGER]");
+                        root.set(ai, new DBInteger(s1, v, b1, b2));
+                        ai += 1;
+                    } else if (t.accept("[STRING]")) {
+                        if (!t.accept("[PROPERTIES] name=\'")) {
+                            throw new IllegalDatabaseFormat("Unable to parse Database: Unparseable DBString");
                         }
+                        String s1 = t.readUntil("\'; isFinal=");
+                        boolean b1 = t.readBoolean();
+                        t.expect("; fsl=");
+                        boolean b2 = t.readBoolean();
+                        t.expect("; [/PROPERTIES][STRDATA]");
+                        String v = t.readUntil("[/STRDATA][/STRING]");
+                        root.set(ai, new DBString(v, s1, b1, b2));
+                        ai += 1;
+                    } else if (DPE != null) {
+                        t.skip(Math.max(1, DPE.parse(s, t.position(), root) - t.position()));
+                    } else {
+                        t.skip(1);
                     }
                 }
                 return root;
             }
+        }),
+        DFV_2(2, new BinaryDatabaseParser() {
+            public DBRootElement parse(ByteBuffer b, DBRootElement DBroot) {
+                return BinaryDatabaseFormat.decode(b, DBroot);
+            }
         });
 
         private final int DFV;
-        private final DatabaseParser Parser;
+        private final DatabaseParser Parser; // null for binary formats
+        private final BinaryDatabaseParser BinaryParser; // null for text formats
 
         private DatabaseParsers(int DFV, DatabaseParser Parser) {
             this.DFV = DFV;
             this.Parser = Parser;
+            this.BinaryParser = null;
+        }
+
+        private DatabaseParsers(int DFV, BinaryDatabaseParser BinaryParser) {
+            this.DFV = DFV;
+            this.Parser = null;
+            this.BinaryParser = BinaryParser;
         }
 
         public static DatabaseParsers get(int DFV) {
@@ -513,24 +345,70 @@ public final class DatabaseManager {
 
         public DatabaseParser getParser() {
             Class<?> c = GetInvoker.lookupCallerClass();
-            if (!(c.equals(DBRootElement.class) || c.equals(Database.class))) {
+            if (!(c.equals(DBRootElement.class) || c.equals(Database.class) || c.equals(DatabaseManager.class))) {
                 throw new SecurityException(
                         "Access denied: The invoker class(" + c.getName() + ") does not have access to this method");
             }
+            if (this.Parser == null) {
+                throw new IllegalStateException("DFV_" + this.DFV + " is a binary format");
+            }
             return this.Parser;
         }
+
+        public BinaryDatabaseParser getBinaryParser() {
+            Class<?> c = GetInvoker.lookupCallerClass();
+            if (!(c.equals(DBRootElement.class) || c.equals(Database.class) || c.equals(DatabaseManager.class))) {
+                throw new SecurityException(
+                        "Access denied: The invoker class(" + c.getName() + ") does not have access to this method");
+            }
+            if (this.BinaryParser == null) {
+                throw new IllegalStateException("DFV_" + this.DFV + " is a text format");
+            }
+            return this.BinaryParser;
+        }
     }
 
     protected static interface DatabaseParser {
         public abstract DBRootElement parse(String s, DBRootElement root);
 
         public abstract DBRootElement parse(String s, DBRootElement root, DatabaseParserExtension DPE);
+
+        public default DBRootElement parse(CharSequence s, DBRootElement root, DatabaseParserExtension DPE) {
+            return parse(s.toString(), root, DPE);
+        }
+    }
+
+    protected static interface BinaryDatabaseParser {
+        public abstract DBRootElement parse(ByteBuffer b, DBRootElement root);
     }
 
     public static interface DatabaseParserExtension {
         public abstract DBRootElement parse(String s, DBRootElement root);
 
+        /**
+         * @return The index in the whole document of the last character parsed by
+         *         {@link #parse(String, DBRootElement)}, although that method only
+         *         receives the document from the tag. The parser continues after
+         *         it.
+         */
         public abstract int endIndex();
+
+        /**
+         * Parses the document from a tag that the parser does not know. The
+         * default implementation passes the rest of the document to
+         * {@link #parse(String, DBRootElement)}, which copies it, and continues
+         * after {@link #endIndex()}, extensions override this method to read the
+         * document in place.
+         * 
+         * @param s      The whole document
+         * @param offset The index of the tag in the document
+         * @param root   The root that receives the elements
+         * @return The index in the document after the text that was parsed
+         */
+        public default int parse(CharSequence s, int offset, DBRootElement root) {
+            this.parse(s.subSequence(offset, s.length()).toString(), root);
+            return this.endIndex() + 1;
+        }
     }
 
     /*
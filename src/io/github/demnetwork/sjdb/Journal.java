@@ -0,0 +1,246 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+package io.github.demnetwork.sjdb;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of the changes made to a
+ * {@link io.github.demnetwork.sjdb.Database Database} after its last save.
+ * 
+ * <pre>
+ * "SJDJ" version checkpoint-id
+ * length crc32 encrypted-record
+ * length crc32 encrypted-record
+ * ...
+ * </pre>
+ * 
+ * The checkpoint id is the IV of the payload of the Database file the records
+ * apply to, so a journal left behind by an older save is ignored. Reading stops
+ * at the first incomplete or corrupted record, like the last record of a write
+ * that was interrupted.
+ * 
+ * @since SJDB v1.0.0
+ */
+final class Journal implements Closeable {
+    private static final byte[] MAGIC = { 'S', 'J', 'D', 'J' };
+    private static final int VERSION = 1;
+    private static final int CHECKPOINT_ID_LENGTH = 16;
+    private static final int HEADER_LENGTH = MAGIC.length + 4 + CHECKPOINT_ID_LENGTH;
+    private static final int MAX_RECORD_LENGTH = 1 << 30;
+    private final FileChannel ch;
+    private int records; // Records written since the checkpoint
+
+    private Journal(FileChannel ch) {
+        this.ch = ch;
+    }
+
+    static Path pathOf(String path) {
+        return Path.of(path + ".journal");
+    }
+
+    /**
+     * @param encryptedPayload The encrypted payload of a Database file, its
+     *                         position is not changed
+     * @return The checkpoint id of the file, that is the first 16 bytes of its
+     *         payload, they start with the random IV of the payload or of its
+     *         first chunk
+     */
+    static byte[] checkpointId(ByteBuffer encryptedPayload) {
+        byte[] id = new byte[CHECKPOINT_ID_LENGTH];
+        encryptedPayload.get(0, id);
+        return id;
+    }
+
+    /**
+     * Opens the journal to append records to it, if it belongs to another
+     * checkpoint it is emptied.
+     * 
+     * @param path         The path of the journal
+     * @param checkpointId The checkpoint id of the Database file
+     * @param force        If the header is written to the storage device
+     * @return The journal
+     */
+    static Journal open(Path path, byte[] checkpointId, boolean force) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        Journal j = new Journal(ch);
+        try {
+            List<byte[]> r = read(ch, checkpointId);
+            if (r == null) {
+                j.reset(checkpointId, force);
+            } else {
+                j.records = r.size();
+                ch.truncate(ch.position()); // Drops a record that was not completely written
+            }
+        } catch (IOException | RuntimeException err) {
+            ch.close();
+            throw err;
+        }
+        return j;
+    }
+
+    /**
+     * Reads the records of a journal
+     * 
+     * @param path         The path of the journal
+     * @param checkpointId The checkpoint id of the Database file
+     * @return The encrypted records, empty if the journal does not exist or
+     *         belongs to another checkpoint
+     */
+    static List<byte[]> read(Path path, byte[] checkpointId) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<byte[]> r = read(ch, checkpointId);
+            return (r == null) ? new ArrayList<>() : r;
+        } catch (NoSuchFileException nsfe) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Reads the valid records and leaves the position of the channel after the
+     * last one, returns null if the header does not match the checkpoint id
+     */
+    private static List<byte[]> read(FileChannel ch, byte[] checkpointId) throws IOException {
+        long size = ch.size();
+        if (size < HEADER_LENGTH) {
+            return null;
+        }
+        ByteBuffer b = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE - 8));
+        ch.position(0);
+        while (b.hasRemaining()) {
+            if (ch.read(b) < 0) {
+                break;
+            }
+        }
+        b.flip();
+        byte[] magic = new byte[MAGIC.length];
+        byte[] id = new byte[CHECKPOINT_ID_LENGTH];
+        b.get(magic);
+        int version = b.getInt();
+        b.get(id);
+        if (!Arrays.equals(magic, MAGIC) || version != VERSION || !Arrays.equals(id, checkpointId)) {
+            return null;
+        }
+        List<byte[]> records = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        while (b.remaining() >= 8) {
+            int start = b.position();
+            int length = b.getInt();
+            int checksum = b.getInt();
+            if (length <= 0 || length > MAX_RECORD_LENGTH || length > b.remaining()) {
+                b.position(start);
+                break;
+            }
+            byte[] record = new byte[length];
+            b.get(record);
+            crc.reset();
+            crc.update(record);
+            if ((int) crc.getValue() != checksum) {
+                b.position(start);
+                break;
+            }
+            records.add(record);
+        }
+        ch.position(b.position());
+        return records;
+    }
+
+    /**
+     * Writes records at the end of the journal with a single write
+     * 
+     * @param records The encrypted records
+     * @param force   If the records are written to the storage device before
+     *                this method returns
+     */
+    void append(List<byte[]> records, boolean force) throws IOException {
+        int length = 0;
+        for (byte[] r : records) {
+            length += 8 + r.length;
+        }
+        ByteBuffer b = ByteBuffer.allocate(length);
+        CRC32 crc = new CRC32();
+        for (byte[] r : records) {
+            crc.reset();
+            crc.update(r);
+            b.putInt(r.length);
+            b.putInt((int) crc.getValue());
+            b.put(r);
+        }
+        b.flip();
+        while (b.hasRemaining()) {
+            ch.write(b);
+        }
+        if (force) {
+            ch.force(false);
+        }
+        this.records += records.size();
+    }
+
+    /**
+     * Removes all the records and binds the journal to a new checkpoint
+     */
+    void reset(byte[] checkpointId, boolean force) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_LENGTH);
+        b.put(MAGIC);
+        b.putInt(VERSION);
+        b.put(checkpointId);
+        b.flip();
+        ch.truncate(0);
+        ch.position(0);
+        while (b.hasRemaining()) {
+            ch.write(b);
+        }
+        if (force) {
+            ch.force(false);
+        }
+        this.records = 0;
+    }
+
+    /**
+     * @return The number of records written since the checkpoint
+     */
+    int records() {
+        return this.records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.ch.close();
+    }
+
+    static void delete(Path path) throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
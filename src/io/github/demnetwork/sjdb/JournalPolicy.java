@@ -0,0 +1,86 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+package io.github.demnetwork.sjdb;
+
+/**
+ * Configures the journal of a {@link io.github.demnetwork.sjdb.Database
+ * Database}.
+ * <p>
+ * When the journal is enabled, every change made to the root of the Database
+ * is appended to a file next to the Database file as one encrypted record
+ * holding the changed slot, instead of saving the whole Database. The records
+ * are written again into the Database file by a checkpoint, and they are
+ * replayed when the Database is accessed.
+ * </p>
+ * 
+ * @see io.github.demnetwork.sjdb.Database#setJournalPolicy(JournalPolicy)
+ * 
+ * @since SJDB v1.0.0
+ */
+public final class JournalPolicy {
+    /**
+     * Writes and syncs every change, and makes a checkpoint every 4096 records
+     */
+    public static final JournalPolicy DEFAULT = new JournalPolicy(1, true, 4096);
+    private final int groupSize;
+    private final boolean sync;
+    private final int checkpointInterval;
+
+    /**
+     * @param groupSize          Number of changed slots that are written to the
+     *                           journal together, the changes that are waiting
+     *                           are written by
+     *                           {@link io.github.demnetwork.sjdb.Database#commit()
+     *                           Database.commit()}
+     * @param sync               If the journal is synced to the storage device
+     *                           after each write
+     * @param checkpointInterval Number of records after which the journal is
+     *                           written into the Database file, 0 to only do it
+     *                           when the Database is saved
+     * @throws IllegalArgumentException If the group size is less than 1 or the
+     *                                  checkpoint interval is negative
+     */
+    public JournalPolicy(int groupSize, boolean sync, int checkpointInterval) {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("The group size must be at least 1");
+        }
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException("The checkpoint interval cannot be negative");
+        }
+        this.groupSize = groupSize;
+        this.sync = sync;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public int getGroupSize() {
+        return this.groupSize;
+    }
+
+    public boolean isSync() {
+        return this.sync;
+    }
+
+    public int getCheckpointInterval() {
+        return this.checkpointInterval;
+    }
+}
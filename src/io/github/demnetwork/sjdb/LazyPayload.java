@@ -0,0 +1,123 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb;
+
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import io.github.demnetwork.sjdb.dbelements.DBElement;
+import io.github.demnetwork.sjdb.exceptions.IllegalDatabaseFormat;
+
+/**
+ * Decodes the records of a DFV_2 payload when the placeholders made by
+ * {@link BinaryDatabaseFormat#decodeLazy(ByteBuffer, io.github.demnetwork.sjdb.dbelements.DBRootElement, LazyPayload)
+ * BinaryDatabaseFormat.decodeLazy} are used.
+ * <p>
+ * When the payload is encrypted in chunks, the encrypted payload is kept and a
+ * chunk is only decrypted when one of its records is decoded. The decrypted
+ * chunks are softly referenced, so they are released when the memory is low.
+ * Otherwise the decrypted payload is kept.
+ * </p>
+ */
+final class LazyPayload {
+    private final BinaryDatabaseFormat.Header header;
+    private final ByteBuffer data;
+    private final BinaryDatabaseFormat.ChunkCipher cipher;
+    private final SoftReference<ByteBuffer>[] chunks;
+
+    /**
+     * @param h      The header of the file
+     * @param data   The encrypted payload when it is encrypted in chunks, the
+     *               decrypted and decompressed payload otherwise
+     * @param cipher Decrypts a chunk, it may be null when the payload is not
+     *               encrypted in chunks
+     */
+    @SuppressWarnings("unchecked")
+    LazyPayload(BinaryDatabaseFormat.Header h, ByteBuffer data, BinaryDatabaseFormat.ChunkCipher cipher) {
+        this.header = h;
+        this.data = data.slice();
+        this.cipher = cipher;
+        this.chunks = (h.chunks == null) ? null : (SoftReference<ByteBuffer>[]) new SoftReference<?>[h.chunks.count()];
+    }
+
+    /**
+     * Decodes a record
+     * 
+     * @param offset Offset of the record in the payload
+     * @param length Length of the record
+     * @return The element
+     */
+    DBElement<?> load(int offset, int length) {
+        return BinaryDatabaseFormat.decodeRecord(this.raw(offset, length));
+    }
+
+    /**
+     * Reads a record without decoding it, so it can be copied to the next payload
+     * 
+     * @param offset Offset of the record in the payload
+     * @param length Length of the record
+     * @return The record, from its type to the end of its body
+     */
+    synchronized ByteBuffer raw(int offset, int length) {
+        if (this.chunks == null) {
+            if ((long) offset + length > this.data.limit()) {
+                throw new IllegalDatabaseFormat("The record is outside of the payload");
+            }
+            return this.data.slice(offset, length);
+        }
+        if ((long) offset + length > this.header.rawLength) {
+            throw new IllegalDatabaseFormat("The record is outside of the payload");
+        }
+        int cs = this.header.chunks.chunkSize;
+        int first = offset / cs;
+        int last = (offset + length - 1) / cs;
+        if (first == last) {
+            return this.chunk(first).slice(offset - first * cs, length);
+        }
+        // Records larger than a page may continue in the next chunks
+        ByteBuffer r = ByteBuffer.allocate(length);
+        for (int i = first; i <= last; i++) {
+            int start = Math.max(offset, i * cs) - i * cs;
+            int end = Math.min(offset + length, (i + 1) * cs) - i * cs;
+            r.put(this.chunk(i).slice(start, end - start));
+        }
+        return r.flip();
+    }
+
+    private ByteBuffer chunk(int i) {
+        SoftReference<ByteBuffer> ref = this.chunks[i];
+        ByteBuffer b = (ref == null) ? null : ref.get();
+        if (b == null) {
+            try {
+                ByteBuffer e = this.data.duplicate().position((int) this.header.chunks.offset(i));
+                b = BinaryDatabaseFormat.open(this.header, e, i, i + 1, this.cipher);
+            } catch (IllegalDatabaseFormat err) {
+                throw err;
+            } catch (Throwable err) {
+                throw new IllegalDatabaseFormat("Unable to decrypt the chunk " + i, err);
+            }
+            this.chunks[i] = new SoftReference<>(b);
+        }
+        return b;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb;
+
+import io.github.demnetwork.sjdb.exceptions.IllegalDatabaseFormat;
+
+/**
+ * A cursor over the tag-string format (DFV_1).
+ * <p>
+ * The tags are matched in place, so no part of the document is copied except
+ * the values that are returned. Every character is visited a constant number
+ * of times, which makes parsing linear in the size of the document.
+ * </p>
+ * 
+ * @since SJDB v1.0.0
+ */
+final class TagTokenizer {
+    private final CharSequence s;
+    private final int length;
+    private int pos;
+
+    TagTokenizer(CharSequence s) {
+        this.s = s;
+        this.length = s.length();
+        this.pos = 0;
+    }
+
+    int position() {
+        return this.pos;
+    }
+
+    boolean hasMore() {
+        return this.pos < this.length;
+    }
+
+    char peek() {
+        return this.s.charAt(this.pos);
+    }
+
+    void skip(int n) {
+        this.pos = Math.min(this.length, this.pos + n);
+    }
+
+    /**
+     * Checks if the tag is at the cursor without moving it
+     */
+    boolean at(String tag) {
+        int l = tag.length();
+        if (this.pos + l > this.length) {
+            return false;
+        }
+        for (int i = 0; i < l; i++) {
+            if (this.s.charAt(this.pos + i) != tag.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the cursor after the tag if it is at the cursor
+     */
+    boolean accept(String tag) {
+        if (at(tag)) {
+            this.pos += tag.length();
+            return true;
+        }
+        return false;
+    }
+
+    void expect(String tag) {
+        if (!accept(tag)) {
+            throw new IllegalDatabaseFormat(
+                    "Expected \'" + tag + "\' at " + this.pos + " but found: \'" + preview(tag.length()) + "\'");
+        }
+    }
+
+    /**
+     * Reads until the terminator, the cursor is moved after the terminator
+     * 
+     * @param terminator Text that ends the value
+     * @return The text between the cursor and the terminator
+     */
+    String readUntil(String terminator) {
+        int end = indexOf(terminator, this.pos);
+        if (end < 0) {
+            throw new IllegalDatabaseFormat("Expected \'" + terminator + "\' after " + this.pos);
+        }
+        String v = this.s.subSequence(this.pos, end).toString();
+        this.pos = end + terminator.length();
+        return v;
+    }
+
+    boolean readBoolean() {
+        if (accept("true")) {
+            return true;
+        } else if (accept("false")) {
+            return false;
+        }
+        throw new IllegalDatabaseFormat("Invalid boolean at " + this.pos);
+    }
+
+    long readLong(String terminator) {
+        int start = this.pos;
+        String v = readUntil(terminator).trim();
+        try {
+            return Long.parseLong(v);
+        } catch (NumberFormatException nfe) {
+            throw new IllegalDatabaseFormat("Invalid number at " + start + ": \'" + v + "\'", nfe);
+        }
+    }
+
+    int readInt(String terminator) {
+        long l = readLong(terminator);
+        if (l > Integer.MAX_VALUE || l < Integer.MIN_VALUE) {
+            throw new IllegalDatabaseFormat("Integer out of range before " + this.pos + ": " + l);
+        }
+        return (int) l;
+    }
+
+    private int indexOf(String text, int from) {
+        if (this.s instanceof String) {
+            return ((String) this.s).indexOf(text, from);
+        }
+        char first = text.charAt(0);
+        int max = this.length - text.length();
+        for (int i = from; i <= max; i++) {
+            if (this.s.charAt(i) == first) {
+                int j = 1;
+                while (j < text.length() && this.s.charAt(i + j) == text.charAt(j)) {
+                    j++;
+                }
+                if (j == text.length()) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private String preview(int n) {
+        return this.s.subSequence(this.pos, Math.min(this.length, this.pos + n)).toString();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import io.github.demnetwork.sjdb.exceptions.IllegalDatabaseFormat;
+
+/**
+ * Reads files in the Database Format Version 1 (DFV_1).
+ * 
+ * <pre>
+ * [DATA]
+ * Base64 of the IV and the encrypted tag-string
+ * [/DATA]
+ * CRD=credential hash followed by the time used to build the salt
+ * RML=root max length
+ * </pre>
+ * 
+ * The credentials are at the end of the file, so the trailer is read first from
+ * the end of the file, and the payload is only read after the credentials were
+ * checked.
+ * 
+ * @since SJDB v1.0.0
+ */
+final class TextDatabaseFormat {
+    private static final byte[] DATA_START = "[DATA]".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DATA_END = "[/DATA]".getBytes(StandardCharsets.US_ASCII);
+    // The CRD line has at most 4 + 128 + 20 characters and the RML line 4 + 11
+    private static final int TRAILER_LENGTH = 512;
+
+    private TextDatabaseFormat() {
+        throw new UnsupportedOperationException("Cannot instantiate TextDatabaseFormat");
+    }
+
+    static final class Trailer {
+        final String credentials; // The hash followed by the time
+        final int rootLength; // -1 when there is no RML line
+        final long payloadEnd; // Offset of the [/DATA] line
+
+        private Trailer(String credentials, int rootLength, long payloadEnd) {
+            this.credentials = credentials;
+            this.rootLength = rootLength;
+            this.payloadEnd = payloadEnd;
+        }
+
+        /**
+         * @param sHash The credential hash
+         * @return The time used to build the salt, or -1 if the credentials do not
+         *         match
+         */
+        long time(String sHash) {
+            if (!this.credentials.startsWith(sHash)) {
+                return -1L;
+            }
+            try {
+                return Long.parseLong(this.credentials.substring(sHash.length()));
+            } catch (NumberFormatException nfe) {
+                throw new IllegalDatabaseFormat("Database is not formatted correctly. ", nfe);
+            }
+        }
+    }
+
+    static Trailer readTrailer(FileChannel ch) throws IOException {
+        long size = ch.size();
+        int l = (int) Math.min(size, TRAILER_LENGTH);
+        ByteBuffer b = ByteBuffer.allocate(l);
+        read(ch, b, size - l);
+        byte[] tail = b.array();
+        int end = lastIndexOf(tail, DATA_END);
+        if (end < 0) {
+            throw new IllegalDatabaseFormat();
+        }
+        String crd = null;
+        int rml = -1;
+        String[] lines = new String(tail, end, tail.length - end, StandardCharsets.US_ASCII).split("\r?\n");
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].startsWith("CRD=")) {
+                if (crd != null) {
+                    throw new IllegalDatabaseFormat();
+                }
+                crd = lines[i].substring(4);
+            } else if (lines[i].startsWith("RML=")) {
+                try {
+                    rml = Integer.parseInt(lines[i].substring(4).trim());
+                } catch (NumberFormatException nfe) {
+                    throw new IllegalDatabaseFormat("Database is not formatted correctly. ", nfe);
+                }
+            }
+        }
+        if (crd == null) {
+            throw new IllegalDatabaseFormat();
+        }
+        return new Trailer(crd, rml, size - l + end);
+    }
+
+    /**
+     * Reads the payload once and decodes its Base64
+     * 
+     * @return A buffer holding the IV and the encrypted tag-string
+     */
+    static ByteBuffer readPayload(FileChannel ch, Trailer t) throws IOException {
+        if (t.payloadEnd > Integer.MAX_VALUE - 8) {
+            throw new IllegalDatabaseFormat("Invalid payload length: " + t.payloadEnd);
+        }
+        ByteBuffer b = ByteBuffer.allocate((int) t.payloadEnd);
+        read(ch, b, 0L);
+        b.flip();
+        for (int i = 0; i < DATA_START.length; i++) {
+            if (b.get() != DATA_START[i]) {
+                throw new IllegalDatabaseFormat("The file is not a DFV_1 Database");
+            }
+        }
+        try {
+            // The MIME decoder ignores the line separators around and inside the payload
+            return Base64.getMimeDecoder().decode(b);
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalDatabaseFormat("The payload of the Database is not valid Base64", iae);
+        }
+    }
+
+    /**
+     * Decodes the decrypted tag-string without copying the buffer
+     */
+    static String decodeText(ByteBuffer b) {
+        return new String(b.array(), b.arrayOffset() + b.position(), b.remaining(), StandardCharsets.UTF_8);
+    }
+
+    private static void read(FileChannel ch, ByteBuffer b, long pos) throws IOException {
+        while (b.hasRemaining()) {
+            int r = ch.read(b, pos);
+            if (r < 0) {
+                throw new IllegalDatabaseFormat("Unexpected end of the Database file");
+            }
+            pos += r;
+        }
+    }
+
+    private static int lastIndexOf(byte[] a, byte[] s) {
+        for (int i = a.length - s.length; i >= 0; i--) {
+            int j = 0;
+            while (j < s.length && a[i + j] == s[j]) {
+                j++;
+            }
+            if (j == s.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+package io.github.demnetwork.sjdb.compression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compresses the payload of a {@link io.github.demnetwork.sjdb.Database
+ * Database} before it is encrypted.
+ * <p>
+ * The id of the codec is recorded in the header of the Database file, so the
+ * file can be decompressed when it is accessed. Codecs that are not built into
+ * SJDB are found with {@link java.util.ServiceLoader ServiceLoader}, or
+ * registered with {@link Codecs#register(Codec)}.
+ * </p>
+ * 
+ * @see io.github.demnetwork.sjdb.compression.Codecs
+ * 
+ * @since SJDB v1.0.0
+ */
+public interface Codec {
+    /**
+     * The ids from 0 to 127 are reserved for the codecs of SJDB
+     * 
+     * @return The id recorded in the header of the Database file
+     */
+    public int getId();
+
+    public String getName();
+
+    /**
+     * @param data The data to compress
+     * @return The compressed data
+     */
+    public byte[] compress(byte[] data);
+
+    /**
+     * @param data   The compressed data
+     * @param length The length of the data before it was compressed
+     * @return The data
+     * @throws io.github.demnetwork.sjdb.exceptions.IllegalDatabaseFormat If the
+     *                                                                    data is
+     *                                                                    corrupted
+     */
+    public byte[] decompress(byte[] data, int length);
+
+    /**
+     * Compresses the remaining bytes of a buffer. The default implementation
+     * copies them to an array, codecs that can read buffers override it.
+     * 
+     * @param data The data to compress
+     * @return A buffer holding the compressed data, ready to be read
+     */
+    public default ByteBuffer compress(ByteBuffer data) {
+        byte[] b = new byte[data.remaining()];
+        data.get(b);
+        return ByteBuffer.wrap(this.compress(b));
+    }
+
+    /**
+     * Decompresses the remaining bytes of a buffer. The default implementation
+     * copies them to an array, codecs that can read buffers override it.
+     * 
+     * @param data   The compressed data
+     * @param length The length of the data before it was compressed
+     * @return A buffer holding the data, ready to be read
+     */
+    public default ByteBuffer decompress(ByteBuffer data, int length) {
+        byte[] b = new byte[data.remaining()];
+        data.get(b);
+        return ByteBuffer.wrap(this.decompress(b, length));
+    }
+}
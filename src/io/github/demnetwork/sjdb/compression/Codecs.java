@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+package io.github.demnetwork.sjdb.compression;
+
+import java.nio.ByteBuffer;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * The codecs that can be used to compress a
+ * {@link io.github.demnetwork.sjdb.Database Database}.
+ * 
+ * @since SJDB v1.0.0
+ */
+public final class Codecs {
+    /**
+     * The payload is not compressed, its id is 0
+     */
+    public static final Codec NONE = new Codec() {
+        @Override
+        public int getId() {
+            return 0;
+        }
+
+        @Override
+        public String getName() {
+            return "none";
+        }
+
+        @Override
+        public byte[] compress(byte[] data) {
+            return data;
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int length) {
+            return data;
+        }
+
+        @Override
+        public ByteBuffer compress(ByteBuffer data) {
+            return data;
+        }
+
+        @Override
+        public ByteBuffer decompress(ByteBuffer data, int length) {
+            return data;
+        }
+    };
+    public static final Codec DEFLATE = new DeflateCodec(Deflater.BEST_SPEED);
+    private static final ConcurrentHashMap<Integer, Codec> codecs = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    static {
+        codecs.put(NONE.getId(), NONE);
+        codecs.put(DEFLATE.getId(), DEFLATE);
+    }
+
+    private Codecs() {
+        throw new UnsupportedOperationException("Cannot instantiate Codecs");
+    }
+
+    /**
+     * Registers a codec that was not found by {@link java.util.ServiceLoader
+     * ServiceLoader}
+     * 
+     * @param c The codec
+     * @throws IllegalArgumentException If the id is reserved or another codec
+     *                                  has the same id
+     */
+    public static void register(Codec c) {
+        if (c.getId() < 128) {
+            throw new IllegalArgumentException("The codec ids from 0 to 127 are reserved");
+        }
+        Codec other = codecs.putIfAbsent(c.getId(), c);
+        if (other != null && other != c) {
+            throw new IllegalArgumentException(
+                    "The codec \'" + other.getName() + "\' already has the id " + c.getId());
+        }
+    }
+
+    /**
+     * @param id The id of the codec
+     * @return The codec, or null if there is no codec with that id
+     */
+    public static Codec get(int id) {
+        Codec c = codecs.get(id);
+        if (c == null && !loaded) {
+            load();
+            c = codecs.get(id);
+        }
+        return c;
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        for (Codec c : ServiceLoader.load(Codec.class)) {
+            if (c.getId() >= 128) {
+                codecs.putIfAbsent(c.getId(), c);
+            }
+        }
+        loaded = true;
+    }
+}
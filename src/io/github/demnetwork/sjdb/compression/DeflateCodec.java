@@ -0,0 +1,136 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+package io.github.demnetwork.sjdb.compression;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import io.github.demnetwork.sjdb.exceptions.IllegalDatabaseFormat;
+
+/**
+ * Compresses with {@link java.util.zip.Deflater Deflater}, without the zlib
+ * header and checksum because the data is authenticated by its decryption and
+ * its parser.
+ * 
+ * @since SJDB v1.0.0
+ */
+public final class DeflateCodec implements Codec {
+    public static final int ID = 1;
+    private final int level;
+
+    /**
+     * @param level The compression level, from 0 to 9
+     * @see java.util.zip.Deflater#setLevel(int)
+     */
+    public DeflateCodec(int level) {
+        if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "deflate";
+    }
+
+    /**
+     * Invoked by {@link java.util.ServiceLoader ServiceLoader}
+     * 
+     * @return {@link Codecs#DEFLATE}
+     */
+    public static DeflateCodec provider() {
+        return (DeflateCodec) Codecs.DEFLATE;
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        ByteBuffer b = this.compress(ByteBuffer.wrap(data));
+        return Arrays.copyOf(b.array(), b.limit());
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int length) {
+        return this.decompress(ByteBuffer.wrap(data), length).array();
+    }
+
+    @Override
+    public ByteBuffer compress(ByteBuffer data) {
+        Deflater d = new Deflater(this.level, true);
+        try {
+            d.setInput(data);
+            d.finish();
+            ByteBuffer out = ByteBuffer.allocate(Math.max(64, data.remaining() / 4));
+            while (!d.finished()) {
+                if (!out.hasRemaining()) {
+                    out = ByteBuffer.allocate(out.capacity() * 2).put(out.flip());
+                }
+                d.deflate(out);
+            }
+            return out.flip();
+        } finally {
+            d.end();
+        }
+    }
+
+    @Override
+    public ByteBuffer decompress(ByteBuffer data, int length) {
+        Inflater i = new Inflater(true);
+        try {
+            i.setInput(data);
+            // The length is not trusted until the data has been inflated, so the buffer
+            // grows with the output
+            ByteBuffer out = ByteBuffer.allocate((int) Math.min(length, Math.max(64L, data.remaining() * 4L)));
+            while (!i.finished()) {
+                if (!out.hasRemaining()) {
+                    if (out.capacity() == length) {
+                        break;
+                    }
+                    out = ByteBuffer.allocate((int) Math.min(length, out.capacity() * 2L)).put(out.flip());
+                }
+                if (i.inflate(out) == 0 && (i.needsInput() || i.needsDictionary())) {
+                    break;
+                }
+            }
+            if (out.position() != length) {
+                throw new IllegalDatabaseFormat("The compressed payload is truncated");
+            }
+            return out.flip();
+        } catch (DataFormatException dfe) {
+            throw new IllegalDatabaseFormat("The compressed payload is corrupted", dfe);
+        } finally {
+            i.end();
+        }
+    }
+}
@@ -24,63 +24,480 @@
 package io.github.demnetwork.sjdb.cryptography;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
-import java.security.spec.KeySpec;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 public final class AES {
     private final int KEY_LENGTH;
     private final int ITERATION_COUNT;
     public static final int BUILD_NUMBER = 1;
     public static final String VERSION = "v1.0.0";
+    public static final int DEFAULT_KEY_CACHE_SIZE = 16;
+    /**
+     * Bytes added to each chunk by {@link #encryptChunk(ByteBuffer, byte[], byte[])},
+     * the 12 byte IV and the 16 byte authentication tag
+     */
+    public static final int CHUNK_OVERHEAD = 12 + 16;
+    private static final SecureRandom secureRandom = new SecureRandom();
+    private final int keyCacheSize;
+    // Derived keys indexed by the SHA-256 of the secret and the salt, so the
+    // secrets are not kept in memory. Access ordered to evict the least recently
+    // used key
+    private final LinkedHashMap<ByteBuffer, byte[]> keyCache;
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/CBC/PKCS5Padding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/CBC/PKCS5Padding is not available", e);
+        }
+    });
+    private final ThreadLocal<Cipher> gcmCiphers = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM/NoPadding is not available", e);
+        }
+    });
 
     public AES(int key_length, int iteration_count) {
+        this(key_length, iteration_count, DEFAULT_KEY_CACHE_SIZE);
+    }
+
+    /**
+     * @param key_length      Length of the derived keys in bits
+     * @param iteration_count PBKDF2 iteration count
+     * @param keyCacheSize    Maximum number of derived keys kept in memory, 0
+     *                        disables the cache
+     */
+    public AES(int key_length, int iteration_count, int keyCacheSize) {
+        if (keyCacheSize < 0) {
+            throw new IllegalArgumentException("The key cache size cannot be negative");
+        }
         this.KEY_LENGTH = key_length;
         this.ITERATION_COUNT = iteration_count;
+        this.keyCacheSize = keyCacheSize;
+        this.keyCache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Removes all the derived keys from the cache and overwrites them with zeros
+     */
+    public void clearKeyCache() {
+        synchronized (this.keyCache) {
+            for (byte[] k : this.keyCache.values()) {
+                Arrays.fill(k, (byte) 0);
+            }
+            this.keyCache.clear();
+        }
     }
 
     public String encrypt(String strToEncrypt, String secretKey, String salt) throws Throwable {
-        // System.out.println("Secret Key(Encryption): " + secretKey);
-        SecureRandom secureRandom = new SecureRandom();
-        byte[] iv = new byte[16];
-        // System.out.println("IV(Encryption): " + iv);
+        return Base64.getEncoder().encodeToString(this.encrypt(strToEncrypt.getBytes("UTF-8"), secretKey, salt));
+    }
+
+    public String decrypt(String strToDecrypt, String secretKey, String salt) throws Throwable {
+        return new String(this.decrypt(Base64.getDecoder().decode(strToDecrypt), secretKey, salt), "UTF-8");
+    }
+
+    /**
+     * Encrypts raw bytes, the returned array starts with the 16 byte IV followed by
+     * the cipher text.
+     * 
+     * @param data      Data to encrypt
+     * @param secretKey Secret used to derive the key
+     * @param salt      Salt used to derive the key
+     * @return The IV and the cipher text
+     * @throws Throwable
+     */
+    public byte[] encrypt(byte[] data, String secretKey, String salt) throws Throwable {
+        return this.encrypt(data, this.deriveKey(secretKey, salt));
+    }
+
+    /**
+     * Encrypts raw bytes with a key that was not derived from a secret, like
+     * {@link #encrypt(byte[], String, String)} the returned array starts with the
+     * 16 byte IV.
+     * 
+     * @param data Data to encrypt
+     * @param key  The AES key, 16, 24 or 32 bytes long
+     * @return The IV and the cipher text
+     * @throws Throwable
+     */
+    public byte[] encrypt(byte[] data, byte[] key) throws Throwable {
+        return this.encrypt(data, new SecretKeySpec(key, "AES"));
+    }
+
+    /**
+     * Decrypts data made by {@link #encrypt(byte[], byte[])}
+     * 
+     * @param encryptedData The IV followed by the cipher text
+     * @param key           The AES key
+     * @return The decrypted bytes
+     * @throws Throwable
+     */
+    public byte[] decrypt(byte[] encryptedData, byte[] key) throws Throwable {
+        return this.decrypt(encryptedData, new SecretKeySpec(key, "AES"));
+    }
+
+    /**
+     * Generates a random key for {@link #encrypt(byte[], byte[])}
+     * 
+     * @return A key with the length of the keys derived by this instance
+     */
+    public byte[] generateKey() {
+        byte[] k = new byte[KEY_LENGTH / 8];
+        secureRandom.nextBytes(k);
+        return k;
+    }
+
+    /**
+     * Writes the 16 byte IV to <code>out</code> and returns a stream that encrypts
+     * everything written to it, the output has the same layout as
+     * {@link #encrypt(byte[], String, String)}. The returned stream must be closed
+     * to write the final block, closing it also closes <code>out</code>.
+     * 
+     * @param out       Destination of the IV and the cipher text
+     * @param secretKey Secret used to derive the key
+     * @param salt      Salt used to derive the key
+     * @return A stream that encrypts into <code>out</code>
+     * @throws Throwable
+     */
+    public OutputStream encrypt(OutputStream out, String secretKey, String salt) throws Throwable {
+        byte[] iv = newIV();
+        // The stream keeps using the Cipher after this method returns, so it cannot be
+        // shared with the other methods of this thread
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, this.deriveKey(secretKey, salt), new IvParameterSpec(iv));
+        out.write(iv);
+        return new CipherOutputStream(out, cipher);
+    }
+
+    /**
+     * Decrypts data made by {@link #encrypt(byte[], String, String)}
+     * 
+     * @param encryptedData The IV followed by the cipher text
+     * @param secretKey     Secret used to derive the key
+     * @param salt          Salt used to derive the key
+     * @return The decrypted bytes
+     * @throws Throwable
+     */
+    public byte[] decrypt(byte[] encryptedData, String secretKey, String salt) throws Throwable {
+        return this.decrypt(encryptedData, this.deriveKey(secretKey, salt));
+    }
+
+    /**
+     * Encrypts the remaining bytes of a buffer, the result has the same layout as
+     * {@link #encrypt(byte[], String, String)}. The position of
+     * <code>data</code> is moved to its limit.
+     * 
+     * @param data      Data to encrypt
+     * @param secretKey Secret used to derive the key
+     * @param salt      Salt used to derive the key
+     * @return A buffer holding the IV and the cipher text, ready to be read
+     * @throws Throwable
+     */
+    public ByteBuffer encrypt(ByteBuffer data, String secretKey, String salt) throws Throwable {
+        return this.encrypt(data, this.deriveKey(secretKey, salt));
+    }
+
+    /**
+     * Like {@link #encrypt(ByteBuffer, String, String)}, with a key that was not
+     * derived from a secret
+     * 
+     * @param data Data to encrypt
+     * @param key  The AES key
+     * @return A buffer holding the IV and the cipher text, ready to be read
+     * @throws Throwable
+     */
+    public ByteBuffer encrypt(ByteBuffer data, byte[] key) throws Throwable {
+        return this.encrypt(data, new SecretKeySpec(key, "AES"));
+    }
+
+    /**
+     * Decrypts the remaining bytes of a buffer made by
+     * {@link #encrypt(ByteBuffer, String, String)}. The position of
+     * <code>encryptedData</code> is moved to its limit.
+     * 
+     * @param encryptedData The IV followed by the cipher text
+     * @param secretKey     Secret used to derive the key
+     * @param salt          Salt used to derive the key
+     * @return A buffer holding the decrypted bytes, ready to be read
+     * @throws Throwable
+     */
+    public ByteBuffer decrypt(ByteBuffer encryptedData, String secretKey, String salt) throws Throwable {
+        return this.decrypt(encryptedData, this.deriveKey(secretKey, salt));
+    }
+
+    /**
+     * Like {@link #decrypt(ByteBuffer, String, String)}, with a key that was not
+     * derived from a secret
+     * 
+     * @param encryptedData The IV followed by the cipher text
+     * @param key           The AES key
+     * @return A buffer holding the decrypted bytes, ready to be read
+     * @throws Throwable
+     */
+    public ByteBuffer decrypt(ByteBuffer encryptedData, byte[] key) throws Throwable {
+        return this.decrypt(encryptedData, new SecretKeySpec(key, "AES"));
+    }
+
+    /**
+     * Returns a stream that reads the IV followed by the cipher text of everything
+     * read from <code>in</code>, the layout is the same as
+     * {@link #encrypt(byte[], String, String)}. Closing it closes
+     * <code>in</code>.
+     * 
+     * @param in        Data to encrypt
+     * @param secretKey Secret used to derive the key
+     * @param salt      Salt used to derive the key
+     * @return A stream of the IV and the cipher text
+     * @throws Throwable
+     */
+    public InputStream encrypt(InputStream in, String secretKey, String salt) throws Throwable {
+        byte[] iv = newIV();
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, this.deriveKey(secretKey, salt), new IvParameterSpec(iv));
+        return new SequenceInputStream(new ByteArrayInputStream(iv), new CipherInputStream(in, cipher));
+    }
+
+    /**
+     * Reads the 16 byte IV from <code>in</code> and returns a stream that
+     * decrypts the rest of it. Closing it closes <code>in</code>.
+     * 
+     * @apiNote A wrong key is reported by the returned stream, as an
+     *          {@link java.io.IOException IOException} caused by a
+     *          {@link javax.crypto.BadPaddingException BadPaddingException}
+     * 
+     * @param in        The IV followed by the cipher text
+     * @param secretKey Secret used to derive the key
+     * @param salt      Salt used to derive the key
+     * @return A stream of the decrypted bytes
+     * @throws Throwable
+     */
+    public InputStream decrypt(InputStream in, String secretKey, String salt) throws Throwable {
+        return this.decrypt(in, this.deriveKey(secretKey, salt));
+    }
+
+    /**
+     * Like {@link #decrypt(InputStream, String, String)}, with a key that was not
+     * derived from a secret
+     * 
+     * @param in  The IV followed by the cipher text
+     * @param key The AES key
+     * @return A stream of the decrypted bytes
+     * @throws Throwable
+     */
+    public InputStream decrypt(InputStream in, byte[] key) throws Throwable {
+        return this.decrypt(in, new SecretKeySpec(key, "AES"));
+    }
+
+    /**
+     * Encrypts one chunk of a larger message with AES-GCM. The returned buffer
+     * holds a random 12 byte IV, the cipher text and the 16 byte authentication
+     * tag. The associated data is authenticated with the chunk without being
+     * encrypted, it must describe where the chunk belongs, like the message, the
+     * index of the chunk and the number of chunks, so a chunk cannot be moved to
+     * another position or message, and the message cannot be truncated, without
+     * being detected. The position of <code>data</code> is moved to its limit.
+     * 
+     * @param data      Data to encrypt
+     * @param secretKey Secret used to derive the key
+     * @param salt      Salt used to derive the key
+     * @param aad       The associated data, the same is needed to decrypt the
+     *                  chunk
+     * @return A buffer holding the IV, the cipher text and the tag, ready to be
+     *         read
+     * @throws Throwable
+     */
+    public ByteBuffer encryptChunk(ByteBuffer data, String secretKey, String salt, byte[] aad) throws Throwable {
+        return this.encryptChunk(data, this.deriveKey(secretKey, salt), aad);
+    }
+
+    /**
+     * Like {@link #encryptChunk(ByteBuffer, String, String, byte[])}, with a key
+     * that was not derived from a secret
+     * 
+     * @param data Data to encrypt
+     * @param key  The AES key
+     * @param aad  The associated data, the same is needed to decrypt the chunk
+     * @return A buffer holding the IV, the cipher text and the tag, ready to be
+     *         read
+     * @throws Throwable
+     */
+    public ByteBuffer encryptChunk(ByteBuffer data, byte[] key, byte[] aad) throws Throwable {
+        return this.encryptChunk(data, new SecretKeySpec(key, "AES"), aad);
+    }
+
+    /**
+     * Decrypts a chunk made by
+     * {@link #encryptChunk(ByteBuffer, String, String, byte[])}. The position of
+     * <code>encryptedData</code> is moved to its limit.
+     * 
+     * @apiNote A wrong key, a modified chunk or different associated data are
+     *          reported with an {@link javax.crypto.AEADBadTagException
+     *          AEADBadTagException}
+     * 
+     * @param encryptedData The IV, the cipher text and the tag
+     * @param secretKey     Secret used to derive the key
+     * @param salt          Salt used to derive the key
+     * @param aad           The associated data the chunk was encrypted with
+     * @return A buffer holding the decrypted bytes, ready to be read
+     * @throws Throwable
+     */
+    public ByteBuffer decryptChunk(ByteBuffer encryptedData, String secretKey, String salt, byte[] aad)
+            throws Throwable {
+        return this.decryptChunk(encryptedData, this.deriveKey(secretKey, salt), aad);
+    }
+
+    /**
+     * Like {@link #decryptChunk(ByteBuffer, String, String, byte[])}, with a key
+     * that was not derived from a secret
+     * 
+     * @param encryptedData The IV, the cipher text and the tag
+     * @param key           The AES key
+     * @param aad           The associated data the chunk was encrypted with
+     * @return A buffer holding the decrypted bytes, ready to be read
+     * @throws Throwable
+     */
+    public ByteBuffer decryptChunk(ByteBuffer encryptedData, byte[] key, byte[] aad) throws Throwable {
+        return this.decryptChunk(encryptedData, new SecretKeySpec(key, "AES"), aad);
+    }
+
+    private ByteBuffer encryptChunk(ByteBuffer data, SecretKeySpec key, byte[] aad) throws Throwable {
+        byte[] iv = new byte[12];
         secureRandom.nextBytes(iv);
-        IvParameterSpec ivspec = new IvParameterSpec(iv);
-        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-        KeySpec spec = new PBEKeySpec(secretKey.toCharArray(), salt.getBytes(), ITERATION_COUNT, KEY_LENGTH);
-        SecretKey tmp = factory.generateSecret(spec);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(tmp.getEncoded(), "AES");
+        Cipher cipher = this.gcmCiphers.get();
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        cipher.updateAAD(aad);
+        ByteBuffer out = ByteBuffer.allocate(iv.length + cipher.getOutputSize(data.remaining()));
+        out.put(iv);
+        cipher.doFinal(data, out);
+        return out.flip();
+    }
+
+    private ByteBuffer decryptChunk(ByteBuffer encryptedData, SecretKeySpec key, byte[] aad) throws Throwable {
+        byte[] iv = new byte[12];
+        encryptedData.get(iv);
+        Cipher cipher = this.gcmCiphers.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        cipher.updateAAD(aad);
+        ByteBuffer out = ByteBuffer.allocate(cipher.getOutputSize(encryptedData.remaining()));
+        cipher.doFinal(encryptedData, out);
+        return out.flip();
+    }
+
+    private ByteBuffer encrypt(ByteBuffer data, SecretKeySpec key) throws Throwable {
+        byte[] iv = newIV();
+        Cipher cipher = this.ciphers.get();
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+        ByteBuffer out = ByteBuffer.allocate(iv.length + cipher.getOutputSize(data.remaining()));
+        out.put(iv);
+        cipher.doFinal(data, out);
+        return out.flip();
+    }
+
+    private ByteBuffer decrypt(ByteBuffer encryptedData, SecretKeySpec key) throws Throwable {
+        byte[] iv = new byte[16];
+        encryptedData.get(iv);
+        Cipher cipher = this.ciphers.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
+        ByteBuffer out = ByteBuffer.allocate(cipher.getOutputSize(encryptedData.remaining()));
+        cipher.doFinal(encryptedData, out);
+        return out.flip();
+    }
+
+    private InputStream decrypt(InputStream in, SecretKeySpec key) throws Throwable {
+        byte[] iv = in.readNBytes(16);
+        if (iv.length != 16) {
+            throw new EOFException("The IV is truncated");
+        }
+        // The stream keeps using the Cipher after this method returns
         Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivspec);
-        byte[] cipherText = cipher.doFinal(strToEncrypt.getBytes("UTF-8"));
-        byte[] encryptedData = new byte[iv.length + cipherText.length];
+        cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
+        return new CipherInputStream(in, cipher);
+    }
+
+    private byte[] encrypt(byte[] data, SecretKeySpec key) throws Throwable {
+        byte[] iv = newIV();
+        Cipher cipher = this.ciphers.get();
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+        byte[] encryptedData = new byte[iv.length + cipher.getOutputSize(data.length)];
         System.arraycopy(iv, 0, encryptedData, 0, iv.length);
-        System.arraycopy(cipherText, 0, encryptedData, iv.length, cipherText.length);
-        return Base64.getEncoder().encodeToString(encryptedData);
+        int l = cipher.doFinal(data, 0, data.length, encryptedData, iv.length);
+        if (iv.length + l != encryptedData.length) {
+            return Arrays.copyOf(encryptedData, iv.length + l);
+        }
+        return encryptedData;
     }
 
-    public String decrypt(String strToDecrypt, String secretKey, String salt) throws Throwable {
-        // System.out.println("Secret Key(Decryption): " + secretKey);
-        // System.out.println(strToDecrypt);
-        byte[] encryptedData = Base64.getDecoder().decode(strToDecrypt);
+    private byte[] decrypt(byte[] encryptedData, SecretKeySpec key) throws Throwable {
+        Cipher cipher = this.ciphers.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(encryptedData, 0, 16));
+        return cipher.doFinal(encryptedData, 16, encryptedData.length - 16);
+    }
+
+    private static byte[] newIV() {
         byte[] iv = new byte[16];
-        // System.out.println("IV(Decryption): " + iv);
-        System.arraycopy(encryptedData, 0, iv, 0, iv.length);
-        IvParameterSpec ivspec = new IvParameterSpec(iv);
+        secureRandom.nextBytes(iv);
+        return iv;
+    }
+
+    private SecretKeySpec deriveKey(String secretKey, String salt) throws Throwable {
+        if (this.keyCacheSize == 0) {
+            return new SecretKeySpec(this.pbkdf2(secretKey, salt), "AES");
+        }
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        md.update(secretKey.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0); // Separates the secret from the salt
+        md.update(salt.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer id = ByteBuffer.wrap(md.digest());
+        synchronized (this.keyCache) {
+            byte[] k = this.keyCache.get(id);
+            if (k != null) {
+                return new SecretKeySpec(k, "AES");
+            }
+        }
+        byte[] k = this.pbkdf2(secretKey, salt);
+        SecretKeySpec spec = new SecretKeySpec(k, "AES");
+        synchronized (this.keyCache) {
+            this.keyCache.put(id, k);
+            if (this.keyCache.size() > this.keyCacheSize) {
+                Iterator<byte[]> it = this.keyCache.values().iterator();
+                Arrays.fill(it.next(), (byte) 0);
+                it.remove();
+            }
+        }
+        return spec;
+    }
+
+    private byte[] pbkdf2(String secretKey, String salt) throws Throwable {
         SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-        KeySpec spec = new PBEKeySpec(secretKey.toCharArray(), salt.getBytes(), ITERATION_COUNT, KEY_LENGTH);
-        SecretKey tmp = factory.generateSecret(spec);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(tmp.getEncoded(), "AES");
-        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivspec);
-        byte[] cipherText = new byte[encryptedData.length - 16];
-        System.arraycopy(encryptedData, 16, cipherText, 0, cipherText.length);
-        byte[] decryptedText = cipher.doFinal(cipherText);
-        return new String(decryptedText, "UTF-8");
+        PBEKeySpec spec = new PBEKeySpec(secretKey.toCharArray(), salt.getBytes(), ITERATION_COUNT, KEY_LENGTH);
+        try {
+            SecretKey tmp = factory.generateSecret(spec);
+            return tmp.getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
     }
 }
@@ -23,13 +23,21 @@
 
 package io.github.demnetwork.sjdb.dbelements;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import io.github.demnetwork.sjdb.dbelements.arrays.DBArray;
+import io.github.demnetwork.sjdb.dbelements.arrays.DBIntArray;
 import io.github.demnetwork.sjdb.dbelements.property.Properties;
+import io.github.demnetwork.sjdb.dbelements.table.Table;
 
 public class DBElement<T> extends java.lang.Object {
     public static final int BUILD_NUMBER = 1;
     public static final String VERSION = "v1.0.0";
 
     private T data;
+    // The root slots that hold this element, used to keep their name index up to date. The nodes are
+    // immutable because the ExpirationService thread reads them
+    private volatile RootSlot slots;
 
     public DBElement() {
         this.data = null;
@@ -53,4 +61,199 @@ public class DBElement<T> extends java.lang.Object {
     public final Properties getProperties() {
         return new Properties(this);
     }
+
+    /**
+     * Writes the tag-string representation of this element to a sink.
+     * <p>
+     * Subclasses write their tags directly to the sink, so a whole
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement DBRootElement}
+     * can be streamed into a {@link java.io.Writer Writer} without building
+     * intermediate Strings. The default implementation appends
+     * {@link #toString()}.
+     * </p>
+     * 
+     * @param a The sink
+     * @throws IOException If the sink throws it
+     * 
+     * @since SJDB v1.0.0
+     */
+    public void writeTo(Appendable a) throws IOException {
+        a.append(this.toString());
+    }
+
+    /**
+     * Must be invoked by subclasses that implement
+     * {@link io.github.demnetwork.sjdb.dbelements.property.NameProperty
+     * NameProperty} after the name was changed, so every
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement DBRootElement}
+     * holding this element can update its name index.
+     * 
+     * @param oldName The name before it was changed
+     * 
+     * @since SJDB v1.0.0
+     */
+    protected final void nameChanged(String oldName) {
+        for (RootSlot s = this.slots; s != null; s = s.next) {
+            s.root.renamed(s.index, oldName, this);
+            s.root.elementChanged(s.index, this);
+        }
+    }
+
+    /**
+     * Must be invoked by subclasses after their data or properties were changed
+     * in place, so the
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement.ChangeListener
+     * ChangeListener}(s) of every
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement DBRootElement}
+     * holding this element are notified, like when its slot is set.
+     * 
+     * @apiNote Elements held by arrays and tables are not held by a root, changes
+     *          made to them are not notified.
+     * 
+     * @since SJDB v1.0.0
+     */
+    protected final void contentChanged() {
+        for (RootSlot s = this.slots; s != null; s = s.next) {
+            s.root.elementChanged(s.index, this);
+        }
+    }
+
+    void attach(DBRootElement root, int index) {
+        this.slots = new RootSlot(root, index, this.slots);
+    }
+
+    void detach(DBRootElement root, int index) {
+        this.slots = detach(this.slots, root, index);
+    }
+
+    private static RootSlot detach(RootSlot s, DBRootElement root, int index) {
+        int n = 0;
+        RootSlot m = s;
+        while (m != null && !(m.root == root && m.index == index)) {
+            m = m.next;
+            n++;
+        }
+        if (m == null) {
+            return s;
+        }
+        // The slots are read without a lock, so the slots before the match are
+        // copied instead of being modified
+        RootSlot[] before = new RootSlot[n];
+        for (int i = 0; i < n; i++, s = s.next) {
+            before[i] = s;
+        }
+        RootSlot r = m.next;
+        for (int i = n - 1; i >= 0; i--) {
+            r = new RootSlot(before[i].root, before[i].index, r);
+        }
+        return r;
+    }
+
+    /**
+     * Asks every root holding this element to remove it, the roots remove it the
+     * next time they are accessed
+     */
+    void purgeFromRoots() {
+        for (RootSlot s = this.slots; s != null; s = s.next) {
+            s.root.purge(s.index, this);
+        }
+    }
+
+    private static final class RootSlot {
+        private final DBRootElement root;
+        private final int index;
+        private final RootSlot next;
+
+        private RootSlot(DBRootElement root, int index, RootSlot next) {
+            this.root = root;
+            this.index = index;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Returns a deep copy of this element.
+     * <p>
+     * Elements that hold mutable state override this method and return a new
+     * instance of the same class, so changes made to the copy are not visible in
+     * this element and vice versa. The default implementation returns this
+     * element.
+     * </p>
+     * 
+     * @return A copy of this element
+     * 
+     * @since SJDB v1.0.0
+     */
+    public DBElement<T> copy() {
+        return this;
+    }
+
+    /**
+     * Copies an element with {@link #copy()}, if the copy is not an instance of
+     * the same class the element itself is returned.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <E extends DBElement<?>> E copyOf(E e) {
+        if (e == null) {
+            return null;
+        }
+        DBElement<?> c = e.copy();
+        return e.getClass().isInstance(c) ? (E) c : e;
+    }
+
+    /**
+     * Copies every element of an array with {@link #copyOf(DBElement)}, the
+     * returned array has the same component type and length.
+     */
+    protected static <E extends DBElement<?>> E[] copyAll(E[] data) {
+        E[] c = java.util.Arrays.copyOf(data, data.length);
+        for (int i = 0; i < c.length; i++) {
+            c[i] = copyOf(c[i]);
+        }
+        return c;
+    }
+
+    /**
+     * Used by subclasses to implement {@link #toString()} with
+     * {@link #writeTo(Appendable)}
+     */
+    protected static String writeToString(DBElement<?> e) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            e.writeTo(sb);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe); // StringBuilder does not throw IOException
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the children of an element the same way a
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement DBRootElement}
+     * does.
+     * 
+     * @apiNote If there is a {@link io.github.demnetwork.sjdb.dbelements.table.Table
+     *          Table} in the children, only that Table is written.
+     */
+    protected static void writeChildren(Object[] data, Appendable a) throws IOException {
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] instanceof Table) {
+                ((Table) data[i]).writeTo(a);
+                return;
+            }
+        }
+        for (int i = 0; i < data.length; i++) {
+            Object ce = data[i];
+            if (ce instanceof DBString || ce instanceof DBInteger || ce instanceof DBArray<?>
+                    || ce instanceof DBIntArray) {
+                ((DBElement<?>) ce).writeTo(a);
+            } else if (ce instanceof DBTempElement) {
+                DBTempElement t = (DBTempElement) ce;
+                long d = t.getDuration();
+                if (d > 0) {
+                    t.writeTo(a, d);
+                }
+            }
+        }
+    }
 }
@@ -23,6 +23,7 @@
 
 package io.github.demnetwork.sjdb.dbelements;
 
+import java.io.IOException;
 import io.github.demnetwork.sjdb.dbelements.property.FinalProperty;
 import io.github.demnetwork.sjdb.dbelements.property.FinalStateLockProperty;
 import io.github.demnetwork.sjdb.dbelements.property.NameProperty;
@@ -70,12 +71,20 @@ public class DBFloat extends DBElement<Float> implements NameProperty, FinalProp
         this.isFinalStateLocked = isFinalStateLocked;
     }
 
+    private DBFloat(DBFloat f) {
+        this.name = f.name;
+        this.data = f.data;
+        this.isFinal = f.isFinal;
+        this.isFinalStateLocked = f.isFinalStateLocked;
+    }
+
     @Override
     public void set(Float data) {
         if (isFinal) {
             throw new IllegalStateException("Cannot edit DBFloat name because it is final");
         }
         this.data = data.floatValue();
+        this.contentChanged();
     }
 
     @Override
@@ -90,6 +99,7 @@ public class DBFloat extends DBElement<Float> implements NameProperty, FinalProp
 
     @Override
     public void setName(String Name) {
+        String old = this.name;
         if (isFinal) {
             throw new IllegalStateException("Cannot edit DBFloat name because it is final");
         }
@@ -100,6 +110,7 @@ public class DBFloat extends DBElement<Float> implements NameProperty, FinalProp
         } else {
             this.name = Name;
         }
+        this.nameChanged(old);
     }
 
     @Override
@@ -114,6 +125,7 @@ public class DBFloat extends DBElement<Float> implements NameProperty, FinalProp
         } else {
             throw new IllegalStateException("The \'isFinal\' property is already locked");
         }
+        this.contentChanged();
     }
 
     @Override
@@ -125,6 +137,7 @@ public class DBFloat extends DBElement<Float> implements NameProperty, FinalProp
                     + "\', because it is already set to \'" + this.isFinal + "\'!");
         }
         this.isFinal = isFinal;
+        this.contentChanged();
     }
 
     @Override
@@ -154,8 +167,19 @@ public class DBFloat extends DBElement<Float> implements NameProperty, FinalProp
 
     @Override
     public String toString() {
-        return "[FLOAT][PROPERTIES] name=\'" + name + "\'; isFinal= " + isFinal + "; fsl=" + isFinalStateLocked
-                + "[/PROPERTIES][FLOATDATA] " + data + " [FLOATDATA][/FLOAT]";
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[FLOAT][PROPERTIES] name=\'").append(name).append("\'; isFinal= ").append(String.valueOf(isFinal))
+                .append("; fsl=").append(String.valueOf(isFinalStateLocked)).append("[/PROPERTIES][FLOATDATA] ")
+                .append(Float.toString(data)).append(" [FLOATDATA][/FLOAT]");
+    }
+
+    @Override
+    public DBFloat copy() {
+        return new DBFloat(this);
     }
 
     @Override
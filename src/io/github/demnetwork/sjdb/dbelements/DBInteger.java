@@ -23,6 +23,7 @@
 
 package io.github.demnetwork.sjdb.dbelements;
 
+import java.io.IOException;
 import io.github.demnetwork.sjdb.dbelements.property.FinalProperty;
 import io.github.demnetwork.sjdb.dbelements.property.FinalStateLockProperty;
 import io.github.demnetwork.sjdb.dbelements.property.NameProperty;
@@ -86,7 +87,15 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
         this.isFinalStateLocked = isFinalStateLocked;
     }
 
+    private DBInteger(DBInteger i) {
+        this.name = i.name;
+        this.data = i.data;
+        this.isFinal = i.isFinal;
+        this.isFinalStateLocked = i.isFinalStateLocked;
+    }
+
     public void setName(String Name) {
+        String old = this.name;
         if (isFinal) {
             throw new IllegalStateException("Cannot edit DBInteger name because it is final");
         }
@@ -99,6 +108,7 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
         } else {
             this.name = NameProperty.validateName(Name);
         }
+        this.nameChanged(old);
     }
 
     public String getName() {
@@ -117,6 +127,7 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
                     + "\', because it is already set to \'" + this.isFinal + "\'!");
         }
         this.isFinal = isFinal;
+        this.contentChanged();
     }
 
     @Override
@@ -125,6 +136,7 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
             throw new IllegalStateException("Cannot modify data of DBInteger because it is final!");
         }
         this.data = data.intValue();
+        this.contentChanged();
     }
 
     @Override
@@ -143,6 +155,7 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
         } else {
             throw new IllegalStateException("The \'isFinal\' property is already locked");
         }
+        this.contentChanged();
     }
 
     public void increment(int i) {
@@ -150,6 +163,7 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
             throw new IllegalStateException("Cannot edit DBInteger data because it is final");
         }
         this.data = this.data + i;
+        this.contentChanged();
     }
 
     public void decrement(int i) {
@@ -157,6 +171,7 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
             throw new IllegalStateException("Cannot edit DBInteger data because it is final");
         }
         this.data = this.data - i;
+        this.contentChanged();
     }
 
     public void multiplyBy(int i) {
@@ -164,6 +179,7 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
             throw new IllegalStateException("Cannot edit DBInteger data because it is final");
         }
         this.data = this.data * i;
+        this.contentChanged();
     }
 
     public void divideBy(int i) throws IllegalStateException, ArithmeticException {
@@ -174,14 +190,24 @@ public final class DBInteger extends DBElement<Integer> implements NameProperty,
         } else {
             this.data = this.data / i;
         }
+        this.contentChanged();
     }
 
     @Override
     public String toString() {
-        return String.format(
-                "[INTEGER][PROPERTIES] name=\'%s\'; isFinal=%b; fsl=%b; [/PROPERTIES][INTDATA] %d [/INTDATA][/INTEGER]",
-                name,
-                isFinal, isFinalStateLocked, data);
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[INTEGER][PROPERTIES] name=\'").append(name).append("\'; isFinal=").append(String.valueOf(isFinal))
+                .append("; fsl=").append(String.valueOf(isFinalStateLocked)).append("; [/PROPERTIES][INTDATA] ")
+                .append(Integer.toString(data)).append(" [/INTDATA][/INTEGER]");
+    }
+
+    @Override
+    public DBInteger copy() {
+        return new DBInteger(this);
     }
 
     @Override
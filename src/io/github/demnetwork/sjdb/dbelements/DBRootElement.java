@@ -23,11 +23,27 @@
 
 package io.github.demnetwork.sjdb.dbelements;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
+import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.IllegalFormatException;
 import java.util.NoSuchElementException;
+import java.util.List;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import io.github.demnetwork.sjdb.Database;
 import io.github.demnetwork.sjdb.DatabaseManager;
 import io.github.demnetwork.sjdb.dbelements.arrays.*;
@@ -47,47 +63,61 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
         implements SupportsChildren, MaxElementCountProperty, CodeInjectionSupport, Cloneable {
     public static final int BUILD_NUMBER = 1;
     public static final String VERSION = "v1.0.0";
+    /**
+     * The maximum element count of a root that grows
+     */
+    public static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+    private static final int INITIAL_CAPACITY = 16;
     private Object[] data;
+    private int maxLength; // MAX_LENGTH when the root grows
+    private int size; // The index after the last occupied slot
+    private long[] occupied; // The bit of a slot is set when the slot holds an Object
+    private int count; // The number of occupied slots
+    private final HashMap<String, NameIndexEntry> nameIndex = new HashMap<>();
+    private final ConcurrentLinkedQueue<PendingPurge> pendingPurges = new ConcurrentLinkedQueue<>();
+    private final CopyOnWriteArrayList<ChangeListener> listeners = new CopyOnWriteArrayList<>();
     public final toString_Method_CodeInjection DEFAULT_toString_METHOD = new toString_Method_CodeInjection() {
-        private Object[] data;
-
         public String getString(DBRootElement RootElement) {
-            this.data = RootElement.get();
-            String s = "";
-            for (int i = 0; i < this.data.length; i++) {
-                if (this.data[i] instanceof DBElement<?>) {
-                    DBElement<?> ce = (DBElement<?>) this.data[i];
-                    if (ce instanceof DBString) {
-                        s = s + ce.toString();
-                    }
-                    if (ce instanceof DBInteger) {
-                        s = s + ce.toString();
-                    }
-                    if (ce instanceof DBArray<?>) {
-                        s = s + ce.toString();
-                    }
-                    if (ce instanceof DBTempElement) {
-                        if (!(((DBTempElement) ce).duration <= 0)) {
-                            s = s + ((DBTempElement) ce).toString();
-                        }
-                    }
-                    if (ce instanceof Table) {
-                        return ce.toString();
-                    }
-                }
+            StringBuilder sb = new StringBuilder();
+            try {
+                DBElement.writeChildren(RootElement.occupiedObjects(), sb);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe); // StringBuilder does not throw IOException
             }
-            return s;
+            return sb.toString();
         }
     };
     private toString_Method_CodeInjection current_ToString_method;
 
+    /**
+     * Instantiates a root that grows when a slot after its capacity is set, up to
+     * {@link #MAX_LENGTH} slots
+     */
     public DBRootElement() {
-        this.data = new Object[16384];
-        this.current_ToString_method = this.DEFAULT_toString_METHOD;
+        this(INITIAL_CAPACITY, true);
     }
 
+    /**
+     * Instantiates a root with a fixed number of slots
+     * 
+     * @param length The number of slots
+     */
     public DBRootElement(int length) {
-        this.data = new Object[length];
+        this(length, false);
+    }
+
+    /**
+     * @param capacity The initial number of slots
+     * @param growable If the root grows when a slot after its capacity is set,
+     *                 otherwise the capacity is its maximum element count
+     */
+    public DBRootElement(int capacity, boolean growable) {
+        if (capacity < 0 || capacity > MAX_LENGTH) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.data = new Object[capacity];
+        this.occupied = new long[words(capacity)];
+        this.maxLength = growable ? MAX_LENGTH : capacity;
         this.current_ToString_method = this.DEFAULT_toString_METHOD;
     }
 
@@ -104,7 +134,7 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
      * @see io.github.demnetwork.sjdb.dbelements.DBElement
      */
     public DBRootElement(String s) throws Exception {
-        this(s, 16384);
+        this(s, INITIAL_CAPACITY, true);
     }
 
     /**
@@ -154,8 +184,11 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
      * @see java.lang.Object
      */
     public DBRootElement(String s, int length) throws Exception {
-        this.current_ToString_method = this.DEFAULT_toString_METHOD;
-        this.data = new Object[length];
+        this(s, length, false);
+    }
+
+    private DBRootElement(String s, int length, boolean growable) throws Exception {
+        this(length, growable);
         try {
             Class<io.github.demnetwork.sjdb.DatabaseManager> clazz = DatabaseManager.class;
             Class<?>[] innerClasses = clazz.getDeclaredClasses();
@@ -169,10 +202,10 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
 
             if (e != null) {
                 Object[] ec = e.getEnumConstants();
-                Class<? extends Object> c = ec[(Database.SUPPORTED_DATABASE_FORMAT_VERSION - 1)].getClass();
+                Class<? extends Object> c = ec[(Database.TEXT_DATABASE_FORMAT_VERSION - 1)].getClass();
                 Method m = c.getMethod("getParser");
                 m.setAccessible(true);
-                Object o = m.invoke(ec[(Database.SUPPORTED_DATABASE_FORMAT_VERSION - 1)]);
+                Object o = m.invoke(ec[(Database.TEXT_DATABASE_FORMAT_VERSION - 1)]);
                 Method m2 = o.getClass().getMethod("parse", String.class, DBRootElement.class);
                 m2.setAccessible(true);
                 DBRootElement dbr = (DBRootElement) m2.invoke(o, s, this);
@@ -187,40 +220,716 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
 
     @Override
     public Object[] get() {
+        this.purgeExpired();
+        this.loadAll();
         return java.util.Arrays.<Object>copyOf(this.data, this.data.length);
     }
 
     @Override
     public void set(Object[] data) {
+        this.purgeExpired();
         if (data == null) {
             throw new NullPointerException("Unable to modify data: new data is null");
         }
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            this.unindex(i);
+        }
+        if (!this.isGrowable()) {
+            this.maxLength = data.length;
+        }
         this.data = new Object[data.length];
         System.arraycopy(data, 0, this.data, 0, data.length);
+        this.occupied = new long[words(data.length)];
+        this.count = 0;
+        this.size = 0;
+        for (int i = 0; i < this.data.length; i++) {
+            if (this.data[i] != null) {
+                this.index(i);
+                this.occupy(i);
+                this.size = i + 1;
+            }
+        }
+        this.fireChanged(-1);
     }
 
     public void set(int index, Object data) {
-        if (index >= this.data.length || index < 0) {
+        this.purgeExpired();
+        if (index >= this.maxLength || index < 0) {
             throw new ArrayIndexOutOfBoundsException("The index is invalid!");
         } else if (data == null || data instanceof DBRootElement || this == data) {
             return;
         } else {
+            this.ensureCapacity(index + 1);
+            this.unindex(index);
             this.data[index] = data;
+            this.index(index);
+            this.occupy(index);
+            this.size = Math.max(this.size, index + 1);
+            this.fireChanged(index);
+        }
+    }
+
+    /**
+     * Sets the slot after the last occupied slot
+     * 
+     * @param data The Object
+     * @return The index of the slot
+     * @throws NullPointerException           If the Object is null
+     * @throws IllegalArgumentException       If the Object is a
+     *                                        {@link io.github.demnetwork.sjdb.dbelements.DBRootElement
+     *                                        DBRootElement}
+     * @throws ArrayIndexOutOfBoundsException If the last slot is occupied
+     */
+    public int append(Object data) {
+        this.purgeExpired();
+        if (data == null) {
+            throw new NullPointerException("The Object is null");
+        }
+        if (data instanceof DBRootElement) {
+            throw new IllegalArgumentException("The Object cannot be a DBRootElement");
+        }
+        if (this.size >= this.maxLength) {
+            throw new ArrayIndexOutOfBoundsException("The root is full");
+        }
+        int index = this.size;
+        this.set(index, data);
+        return index;
+    }
+
+    /**
+     * @return The index after the last occupied slot
+     */
+    public int size() {
+        this.purgeExpired();
+        return this.size;
+    }
+
+    /**
+     * @return The number of occupied slots
+     */
+    public int getElementCount() {
+        this.purgeExpired();
+        return this.count;
+    }
+
+    /**
+     * Finds the lowest slot that does not hold an Object, a growable root returns
+     * the slot after its capacity when all the allocated slots are occupied
+     * 
+     * @return The index of the slot, or -1 if all the slots are occupied
+     */
+    public int nextFreeSlot() {
+        this.purgeExpired();
+        for (int w = 0; w < this.occupied.length; w++) {
+            long word = ~this.occupied[w];
+            if (word != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                return i < this.maxLength ? i : -1;
+            }
+        }
+        int i = this.occupied.length << 6;
+        return i < this.maxLength ? i : -1;
+    }
+
+    /**
+     * Iterates over the indexes of the occupied slots in ascending order, skipping
+     * the empty slots. The iterator reads the slots as it advances, so it reflects
+     * the changes made while iterating.
+     * 
+     * @return An iterator over the indexes of the occupied slots
+     */
+    public PrimitiveIterator.OfInt occupiedSlots() {
+        this.purgeExpired();
+        return new PrimitiveIterator.OfInt() {
+            private int next = DBRootElement.this.nextOccupied(0);
+
+            @Override
+            public boolean hasNext() {
+                return this.next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (this.next < 0) {
+                    throw new NoSuchElementException("There are no more occupied slots");
+                }
+                int i = this.next;
+                this.next = DBRootElement.this.nextOccupied(i + 1);
+                return i;
+            }
+        };
+    }
+
+    /**
+     * Performs the action for the Object of every occupied slot, in the order of
+     * the slots, without copying the slots like {@link #get()}
+     * 
+     * @param action Receives the Object and the index of its slot
+     */
+    public void forEach(ObjIntConsumer<Object> action) {
+        this.forEach(action, true);
+    }
+
+    /**
+     * Like {@link #forEach(ObjIntConsumer)}, but the slots that were set with
+     * {@link #setLazy(int, String, Supplier)} can be left as they are
+     * 
+     * @param action Receives the Object and the index of its slot
+     * @param decode false to pass the loader of a slot that is not decoded yet
+     *               instead of decoding it
+     */
+    public void forEach(ObjIntConsumer<Object> action, boolean decode) {
+        Objects.requireNonNull(action, "The action is null");
+        this.purgeExpired();
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            Object o = this.data[i];
+            action.accept((!decode && o instanceof Placeholder) ? ((Placeholder) o).loader : this.load(i), i);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the slots of this root up to the last occupied
+     * slot, the empty slots are null. Unlike {@link #get()} the slots are not
+     * copied, the view reads this root when it is used, so it reflects the changes
+     * made to this root.
+     * 
+     * @return The view
+     */
+    public List<Object> view() {
+        return new View();
+    }
+
+    /**
+     * Returns a spliterator over the Objects of the occupied slots, in the order of
+     * the slots. The lazy slots are decoded before it is returned, it splits the
+     * slots at word boundaries of the occupancy bitmap and counts the occupied
+     * slots of every part, so it is {@link Spliterator#SIZED SIZED} and
+     * {@link Spliterator#SUBSIZED SUBSIZED}.
+     * 
+     * @return The spliterator
+     */
+    public Spliterator<Object> spliterator() {
+        this.purgeExpired();
+        this.loadAll();
+        return new Slots(this.data, this.occupied, 0, this.size, this.count);
+    }
+
+    /**
+     * @return A sequential stream of the Objects of the occupied slots
+     */
+    public Stream<Object> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * @return A parallel stream of the Objects of the occupied slots
+     */
+    public Stream<Object> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    private static final class Slots implements Spliterator<Object> {
+        private final Object[] data;
+        private final long[] occupied;
+        private int index; // The next slot
+        private final int end;
+        private int remaining; // The number of occupied slots from the index to the end
+
+        private Slots(Object[] data, long[] occupied, int index, int end, int remaining) {
+            this.data = data;
+            this.occupied = occupied;
+            this.index = index;
+            this.end = end;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Object> action) {
+            Objects.requireNonNull(action, "The action is null");
+            if (this.remaining == 0) {
+                return false;
+            }
+            int w = this.index >>> 6;
+            long word = this.occupied[w] & (-1L << this.index);
+            while (word == 0) {
+                word = this.occupied[++w];
+            }
+            int i = (w << 6) + Long.numberOfTrailingZeros(word);
+            this.index = i + 1;
+            this.remaining--;
+            action.accept(this.data[i]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Object> action) {
+            Objects.requireNonNull(action, "The action is null");
+            if (this.remaining == 0) {
+                return;
+            }
+            int w = this.index >>> 6;
+            int last = (this.end - 1) >>> 6;
+            long word = this.occupied[w] & (-1L << this.index);
+            this.index = this.end;
+            this.remaining = 0;
+            for (;;) {
+                if (w == last) {
+                    word &= -1L >>> -this.end;
+                }
+                while (word != 0) {
+                    action.accept(this.data[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                    word &= word - 1;
+                }
+                if (w++ == last) {
+                    return;
+                }
+                word = this.occupied[w];
+            }
+        }
+
+        @Override
+        public Spliterator<Object> trySplit() {
+            int mid = ((this.index + this.end) >>> 1) & ~63;
+            if (mid <= this.index || this.remaining < 2) {
+                return null;
+            }
+            int n = count(this.occupied, this.index, mid);
+            Slots prefix = new Slots(this.data, this.occupied, this.index, mid, n);
+            this.index = mid;
+            this.remaining -= n;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * @return The number of bits that are set from the index to the end
+     *         (exclusive)
+     */
+    private static int count(long[] bits, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long head = -1L << from;
+        long tail = -1L >>> -to;
+        if (first == last) {
+            return Long.bitCount(bits[first] & head & tail);
+        }
+        int n = Long.bitCount(bits[first] & head);
+        for (int w = first + 1; w < last; w++) {
+            n += Long.bitCount(bits[w]);
+        }
+        return n + Long.bitCount(bits[last] & tail);
+    }
+
+    private final class View extends AbstractList<Object> implements RandomAccess {
+        @Override
+        public Object get(int index) {
+            DBRootElement r = DBRootElement.this;
+            r.purgeExpired();
+            if (index < 0 || index >= r.size) {
+                throw new IndexOutOfBoundsException("The index is invalid!");
+            }
+            return r.data[index] == null ? null : r.load(index);
+        }
+
+        @Override
+        public int size() {
+            return DBRootElement.this.size();
+        }
+    }
+
+    /**
+     * @return The number of slots that are allocated
+     */
+    public int getCapacity() {
+        return this.data.length;
+    }
+
+    /**
+     * @return true if this root grows when a slot after its capacity is set
+     */
+    public boolean isGrowable() {
+        return this.maxLength == MAX_LENGTH;
+    }
+
+    /**
+     * Grows the slots with amortized doubling
+     */
+    private void ensureCapacity(int length) {
+        if (length <= this.data.length) {
+            return;
+        }
+        int c = (int) Math.min(this.maxLength, Math.max(length, Math.max(INITIAL_CAPACITY, this.data.length * 2L)));
+        this.data = Arrays.copyOf(this.data, c);
+        this.occupied = Arrays.copyOf(this.occupied, words(c));
+    }
+
+    /**
+     * @return The number of words of the occupancy bitmap for the slots
+     */
+    private static int words(int length) {
+        return (length + 63) >>> 6;
+    }
+
+    private void occupy(int slot) {
+        long bit = 1L << slot;
+        if ((this.occupied[slot >>> 6] & bit) == 0) {
+            this.occupied[slot >>> 6] |= bit;
+            this.count++;
+        }
+    }
+
+    /**
+     * Clears the bit of an emptied slot and finds the last occupied slot if it was
+     * the slot at the end of the root
+     */
+    private void vacate(int slot) {
+        long bit = 1L << slot;
+        if ((this.occupied[slot >>> 6] & bit) == 0) {
+            return;
+        }
+        this.occupied[slot >>> 6] &= ~bit;
+        this.count--;
+        if (slot + 1 == this.size) {
+            this.size = this.previousOccupied(slot) + 1;
+        }
+    }
+
+    /**
+     * @return The lowest occupied slot from the index, or -1 if there is none
+     */
+    private int nextOccupied(int from) {
+        if (from >= this.size) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = this.occupied[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == this.occupied.length) {
+                return -1;
+            }
+            word = this.occupied[w];
         }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @return The highest occupied slot up to the index, or -1 if there is none
+     */
+    private int previousOccupied(int from) {
+        if (from < 0) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = this.occupied[w] & (-1L >>> (63 - (from & 63)));
+        while (word == 0) {
+            if (w-- == 0) {
+                return -1;
+            }
+            word = this.occupied[w];
+        }
+        return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * @return The Objects of the occupied slots, in the order of the slots
+     */
+    private Object[] occupiedObjects() {
+        Object[] o = new Object[this.count];
+        int n = 0;
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            o[n++] = this.data[i];
+        }
+        return o;
     }
 
     public Object get(int index) {
-        if (index >= this.data.length || index < 0) {
+        this.purgeExpired();
+        if (index >= this.maxLength || index < 0) {
             throw new ArrayIndexOutOfBoundsException("The index is invalid!");
-        } else if (this.data[index] == null) {
+        } else if (index >= this.data.length || this.data[index] == null) {
             throw new NullPointerException("The Object is null");
         } else {
-            return this.data[index];
+            return this.load(index);
         }
     }
 
+    /**
+     * Sets a slot to a placeholder of an element that is decoded the first time
+     * the slot is used, so a loader of a Database file only decodes the elements
+     * that are used. The name is indexed before the element is decoded.
+     * 
+     * @param index  The index of the slot
+     * @param name   The name of the element, or null
+     * @param loader Decodes the element, it is invoked at most once for this root
+     *               and once for each copy of it, maybe by other threads
+     * @throws ArrayIndexOutOfBoundsException If the index is invalid
+     */
+    public void setLazy(int index, String name, Supplier<? extends DBElement<?>> loader) {
+        this.purgeExpired();
+        if (index >= this.maxLength || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("The index is invalid!");
+        }
+        if (loader == null) {
+            throw new NullPointerException("The loader is null");
+        }
+        this.ensureCapacity(index + 1);
+        this.unindex(index);
+        this.data[index] = new Placeholder(name, loader);
+        this.index(index);
+        this.occupy(index);
+        this.size = Math.max(this.size, index + 1);
+        this.fireChanged(index);
+    }
+
+    /**
+     * Element that is not decoded yet, it is immutable so copies of the root share
+     * it
+     */
+    private static final class Placeholder {
+        private final String name;
+        private final Supplier<? extends DBElement<?>> loader;
+
+        private Placeholder(String name, Supplier<? extends DBElement<?>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+    }
+
+    /**
+     * Decodes the element of a slot if it holds a placeholder
+     * 
+     * @return The Object held by the slot
+     */
+    private Object load(int slot) {
+        Object o = this.data[slot];
+        if (!(o instanceof Placeholder)) {
+            return o;
+        }
+        Placeholder p = (Placeholder) o;
+        DBElement<?> e = p.loader.get();
+        if (e == null) {
+            throw new IllegalDatabaseFormat("Unable to decode the element of the slot " + slot);
+        }
+        this.data[slot] = e;
+        String name = indexedName(e);
+        if (name == null ? p.name == null : name.equals(p.name)) {
+            e.attach(this, slot);
+        } else {
+            this.removeName(slot, p.name);
+            this.index(slot);
+        }
+        return e;
+    }
+
+    private void loadAll() {
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            if (this.data[i] instanceof Placeholder) {
+                this.load(i);
+            }
+        }
+    }
+
+    /**
+     * @param index The index of the slot
+     * @return true if the slot holds an Object
+     * @throws ArrayIndexOutOfBoundsException If the index is invalid
+     */
+    public boolean isOccupied(int index) {
+        this.purgeExpired();
+        if (index >= this.maxLength || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("The index is invalid!");
+        }
+        return index < this.data.length && this.data[index] != null;
+    }
+
     public void reset(int index) {
+        this.purgeExpired();
+        if (index >= this.data.length && index < this.maxLength) {
+            return; // The slot was never allocated
+        }
+        this.unindex(index);
         this.data[index] = null;
+        this.vacate(index);
+        this.fireChanged(index);
+    }
+
+    /**
+     * Listens to the changes made to the slots of a
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement DBRootElement}.
+     * 
+     * @since SJDB v1.0.0
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        /**
+         * Invoked after a slot was set, reset or purged because its element expired,
+         * and after the element held by a slot was changed in place.
+         * 
+         * @param root  The root that was changed
+         * @param index The index of the slot, or -1 when all the slots were replaced
+         */
+        public void changed(DBRootElement root, int index);
+    }
+
+    public void addChangeListener(ChangeListener l) {
+        if (l == null) {
+            throw new NullPointerException("The listener is null");
+        }
+        this.listeners.add(l);
+    }
+
+    public void removeChangeListener(ChangeListener l) {
+        this.listeners.remove(l);
+    }
+
+    private void fireChanged(int index) {
+        if (this.listeners.isEmpty()) {
+            return;
+        }
+        for (ChangeListener l : this.listeners) {
+            l.changed(this, index);
+        }
+    }
+
+    private static final class PendingPurge {
+        private final int slot;
+        private final DBElement<?> element;
+
+        private PendingPurge(int slot, DBElement<?> element) {
+            this.slot = slot;
+            this.element = element;
+        }
+    }
+
+    /**
+     * Invoked by {@link DBElement#purgeFromRoots()}, it may be invoked by other
+     * threads, so the slot is only reset by {@link #purgeExpired()}
+     */
+    void purge(int slot, DBElement<?> e) {
+        this.pendingPurges.offer(new PendingPurge(slot, e));
+    }
+
+    private void purgeExpired() {
+        PendingPurge p;
+        while ((p = this.pendingPurges.poll()) != null) {
+            if (p.slot < this.data.length && this.data[p.slot] == p.element) {
+                this.unindex(p.slot);
+                this.data[p.slot] = null;
+                this.vacate(p.slot);
+                this.fireChanged(p.slot);
+            }
+        }
+    }
+
+    private static final class NameIndexEntry {
+        private int slot; // The lowest slot holding an element with this name
+        private int count;
+
+        private NameIndexEntry(int slot) {
+            this.slot = slot;
+            this.count = 1;
+        }
+    }
+
+    private static String indexedName(Object o) {
+        if (o instanceof NameProperty && o instanceof DBElement<?>) {
+            return ((NameProperty) o).getName();
+        }
+        if (o instanceof Placeholder) {
+            return ((Placeholder) o).name;
+        }
+        return null;
+    }
+
+    private void index(int slot) {
+        Object o = this.data[slot];
+        if (o instanceof DBElement<?>) {
+            ((DBElement<?>) o).attach(this, slot);
+        }
+        this.addName(slot, indexedName(o));
+    }
+
+    private void unindex(int slot) {
+        Object o = this.data[slot];
+        if (o instanceof DBElement<?>) {
+            ((DBElement<?>) o).detach(this, slot);
+        }
+        this.removeName(slot, indexedName(o));
+    }
+
+    private void addName(int slot, String name) {
+        if (name == null) {
+            return;
+        }
+        NameIndexEntry e = this.nameIndex.get(name);
+        if (e == null) {
+            this.nameIndex.put(name, new NameIndexEntry(slot));
+        } else {
+            e.count++;
+            if (slot < e.slot) {
+                e.slot = slot;
+            }
+        }
+    }
+
+    private void removeName(int slot, String name) {
+        if (name == null) {
+            return;
+        }
+        NameIndexEntry e = this.nameIndex.get(name);
+        if (e == null) {
+            return;
+        }
+        if (--e.count == 0) {
+            this.nameIndex.remove(name);
+        } else if (e.slot == slot) {
+            // Another element has the same name, find the next slot holding it
+            for (int i = this.nextOccupied(slot + 1); i >= 0; i = this.nextOccupied(i + 1)) {
+                if (name.equals(indexedName(this.data[i]))) {
+                    e.slot = i;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Invoked by {@link DBElement#contentChanged()} for every slot of this root
+     * that holds the changed element
+     */
+    void elementChanged(int slot, DBElement<?> e) {
+        if (slot < this.data.length && this.data[slot] == e) {
+            this.fireChanged(slot);
+        }
+    }
+
+    /**
+     * Invoked by {@link DBElement#nameChanged(String)} for every slot of this root
+     * that holds the renamed element
+     */
+    void renamed(int slot, String oldName, DBElement<?> e) {
+        if (this.data[slot] != e) {
+            return;
+        }
+        String name = indexedName(e);
+        if (name == null ? oldName == null : name.equals(oldName)) {
+            return;
+        }
+        this.removeName(slot, oldName);
+        this.addName(slot, name);
     }
 
     /**
@@ -239,39 +948,59 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
      */
     @Override
     public DBElement<?> getByName(String Name) throws NullPointerException, NoSuchElementException {
+        this.purgeExpired();
         if (Name == null) {
             throw new NullPointerException("\'Name\' cannot be null");
         }
-        for (int i = 0; !(i >= this.data.length); i++) {
-            if (data[i] instanceof NameProperty) {
-                NameProperty np = (NameProperty) data[i];
-                if (np.getName().equals(Name) && np instanceof DBElement<?>) {
-                    return (DBElement<?>) data[i];
-                }
-            }
+        int i = this.lookup(Name);
+        if (i >= 0) {
+            return (DBElement<?>) this.load(i);
         }
         throw new NoSuchElementException("The element with name \'" + Name + "\' was not found");
     }
 
     @Override
     public boolean hasObjectWithName(String Name) throws NullPointerException {
+        this.purgeExpired();
         if (Name == null) {
             throw new NullPointerException("\'Name\' cannot be null");
         }
-        for (int i = 0; !(i >= this.data.length); i++) {
-            if (data[i] instanceof NameProperty) {
-                NameProperty np = (NameProperty) data[i];
-                if (np.getName().equals(Name) && np instanceof DBElement<?>) {
-                    return true;
-                }
+        return this.lookup(Name) >= 0;
+    }
+
+    /**
+     * Finds the lowest slot that holds an element with the name using the name
+     * index.
+     * <p>
+     * Elements implementing
+     * {@link io.github.demnetwork.sjdb.dbelements.property.NameProperty
+     * NameProperty} outside of SJDB may not invoke
+     * {@link DBElement#nameChanged(String)}, when the indexed slot no longer
+     * holds an element with the name, the slots are scanned instead.
+     * </p>
+     * 
+     * @return The slot or -1 if there is no element with the name
+     */
+    private int lookup(String name) {
+        NameIndexEntry e = this.nameIndex.get(name);
+        if (e != null && name.equals(indexedName(this.data[e.slot]))) {
+            return e.slot;
+        }
+        if (e == null) {
+            return -1;
+        }
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            if (name.equals(indexedName(this.data[i]))) {
+                return i;
             }
         }
-        return false;
+        return -1;
     }
 
     @Override
     public DBElement<?> getByName(String Name, int depth)
             throws NullPointerException, NoSuchElementException, IllegalArgumentException {
+        this.purgeExpired();
         if (Name == null) {
             throw new NullPointerException("\'Name\' cannot be null");
         }
@@ -279,7 +1008,8 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
         if (cDepth <= 0) {
             throw new IllegalArgumentException("Depth cannot be less than or equal 0");
         }
-        for (int i = 0; (!(i >= this.data.length)); i++) {
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            this.load(i);
             if (this.data[i] instanceof DBElement<?>) {
                 if (data[i] instanceof NameProperty) {
                     NameProperty np = (NameProperty) data[i];
@@ -357,6 +1087,7 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
      */
     @Override
     public boolean hasObjectWithName(String Name, int depth) throws NullPointerException, IllegalArgumentException {
+        this.purgeExpired();
         if (Name == null) {
             throw new NullPointerException("\'Name\' cannot be null");
         }
@@ -364,7 +1095,8 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
             throw new IllegalArgumentException("Depth cannot be less than or equal 0");
         }
         int cDepth = depth;
-        for (int i = 0; !(i >= this.data.length); i++) {
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            this.load(i);
             if (data[i] instanceof DBElement<?>) {
                 if (data[i] instanceof NameProperty) {
                     NameProperty np = (NameProperty) data[i];
@@ -388,6 +1120,8 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
     @SuppressWarnings("removal")
     @Override
     public String toString() {
+        this.purgeExpired();
+        this.loadAll();
         if (current_ToString_method == null) {
             throw new IllegalStateException("Unable to run \'toString()\' method.",
                     new NullPointerException("Current \'toString()\' method is null"));
@@ -409,6 +1143,24 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
         }
     }
 
+    /**
+     * Streams the tag-string representation of this root to the sink.
+     * <p>
+     * When code was injected to the {@code toString()} method, the injected code
+     * is used, so the result is the same as {@link #toString()}.
+     * </p>
+     */
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        this.purgeExpired();
+        this.loadAll();
+        if (current_ToString_method == DEFAULT_toString_METHOD) {
+            DBElement.writeChildren(this.occupiedObjects(), a);
+        } else {
+            a.append(this.toString());
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -417,15 +1169,21 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
         if (obj != null) {
             if (obj instanceof DBRootElement) {
                 DBRootElement dbre = (DBRootElement) obj;
-                if (dbre.get().length == dbre.get().length) {
-                    if (!Arrays.equals(this.data, dbre.get())) {
+                this.purgeExpired();
+                dbre.purgeExpired();
+                if (this.maxLength != dbre.maxLength || this.count != dbre.count || this.size != dbre.size) {
+                    return false;
+                }
+                // The slots after the last occupied slot are empty
+                if (!Arrays.equals(this.occupied, 0, words(this.size), dbre.occupied, 0, words(dbre.size))) {
+                    return false;
+                }
+                for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+                    if (!Objects.equals(this.load(i), dbre.load(i))) {
                         return false;
-                    } else {
-                        return true;
                     }
-                } else {
-                    return false;
                 }
+                return true;
             } else {
                 return false;
             }
@@ -434,9 +1192,13 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
         }
     }
 
+    /**
+     * @return The maximum number of slots, {@link #MAX_LENGTH} when this root
+     *         grows
+     */
     @Override
     public int getMaxElementCount() {
-        return this.data.length;
+        return this.maxLength;
     }
 
     public interface toString_Method_CodeInjection {
@@ -495,18 +1257,43 @@ public final class DBRootElement extends DBElement<java.lang.Object[]>
         }
     }
 
+    /**
+     * Makes a deep copy of this
+     * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement DBRootElement}.
+     * <p>
+     * Every element is copied with
+     * {@link io.github.demnetwork.sjdb.dbelements.DBElement#copy() DBElement.copy()}
+     * so the copy is made in a single pass, without converting this root to a
+     * String and parsing it again.
+     * </p>
+     * <p>
+     * Elements that are not copied, because their {@code copy()} returns them,
+     * are shared with this root and are not attached to the copy, so the copy
+     * can be discarded without being referenced by them. The copy is not notified
+     * when they are renamed or expire.
+     * </p>
+     */
     @Override
     public DBRootElement clone() {
-        try {
-            return new DBRootElement(this.toString(), this.data.length);
-        } catch (Exception err) {
-            Throwable e = err.getCause();
-            if ((e instanceof SecurityException)) {
-                throw new SecurityException(
-                        "The current SecuriyManager does not allow one of the operations that \'clone()\' uses!", e);
+        this.purgeExpired();
+        DBRootElement c = new DBRootElement(this.data.length, this.isGrowable());
+        c.size = this.size;
+        c.count = this.count;
+        System.arraycopy(this.occupied, 0, c.occupied, 0, this.occupied.length);
+        for (int i = this.nextOccupied(0); i >= 0; i = this.nextOccupied(i + 1)) {
+            Object o = this.data[i];
+            c.data[i] = (o instanceof DBElement<?>) ? DBElement.copyOf((DBElement<?>) o) : o;
+            if (c.data[i] == o) {
+                c.addName(i, indexedName(o));
             } else {
-                throw new RuntimeException("Unable to clone DBRootElement", e);
+                c.index(i);
             }
         }
+        return c;
+    }
+
+    @Override
+    public DBRootElement copy() {
+        return this.clone();
     }
 }
@@ -23,6 +23,7 @@
 
 package io.github.demnetwork.sjdb.dbelements;
 
+import java.io.IOException;
 import io.github.demnetwork.sjdb.dbelements.property.FinalProperty;
 import io.github.demnetwork.sjdb.dbelements.property.FinalStateLockProperty;
 import io.github.demnetwork.sjdb.dbelements.property.NameProperty;
@@ -65,7 +66,15 @@ public final class DBString extends DBElement<java.lang.String>
         this.isFinalStateLocked = LockFinalState;
     }
 
+    private DBString(DBString s) {
+        this.name = s.name;
+        this.data = s.data;
+        this.isFinal = s.isFinal;
+        this.isFinalStateLocked = s.isFinalStateLocked;
+    }
+
     public void setName(String Name) {
+        String old = this.name;
         if (isFinal) {
             throw new IllegalStateException("Cannot edit DBString name because it is final");
         }
@@ -78,6 +87,7 @@ public final class DBString extends DBElement<java.lang.String>
         } else {
             this.name = NameProperty.validateName(Name);
         }
+        this.nameChanged(old);
     }
 
     public String getName() {
@@ -95,12 +105,24 @@ public final class DBString extends DBElement<java.lang.String>
             throw new IllegalStateException("Cannot edit DBString data because it is final");
         }
         this.data = data;
+        this.contentChanged();
     }
 
     @Override
     public String toString() {
-        return "[STRING][PROPERTIES] name=\'" + name + "\'; isFinal=" + isFinal + "; fsl=" + isFinalStateLocked
-                + "; [/PROPERTIES][STRDATA]" + data + "[/STRDATA][/STRING]";
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[STRING][PROPERTIES] name=\'").append(name).append("\'; isFinal=").append(String.valueOf(isFinal))
+                .append("; fsl=").append(String.valueOf(isFinalStateLocked)).append("; [/PROPERTIES][STRDATA]")
+                .append(data).append("[/STRDATA][/STRING]");
+    }
+
+    @Override
+    public DBString copy() {
+        return new DBString(this);
     }
 
     public void setFinal(boolean isFinal) {
@@ -111,6 +133,7 @@ public final class DBString extends DBElement<java.lang.String>
                     + "\', because it is already set to \'" + this.isFinal + "\'!");
         }
         this.isFinal = isFinal;
+        this.contentChanged();
     }
 
     public boolean isFinal() {
@@ -128,6 +151,7 @@ public final class DBString extends DBElement<java.lang.String>
         } else {
             throw new IllegalStateException("The \'isFinal\' property is already locked");
         }
+        this.contentChanged();
     }
 
     public String castToString() {
@@ -23,24 +23,28 @@
 
 package io.github.demnetwork.sjdb.dbelements;
 
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A message that expires after a duration in seconds.
+ * <p>
+ * The element stores the absolute deadline, so it does not need its own
+ * thread. Expiry is checked when the element is read, and a shared
+ * {@link io.github.demnetwork.sjdb.dbelements.ExpirationService
+ * ExpirationService} removes expired elements from the
+ * {@link io.github.demnetwork.sjdb.dbelements.DBRootElement DBRootElement}(s)
+ * that hold them.
+ * </p>
+ */
 public final class DBTempElement extends DBElement<String> {
+    // Longer durations are handled as if they never expire, to avoid overflowing
+    // System.nanoTime()
+    private static final long MAX_DURATION = TimeUnit.NANOSECONDS.toSeconds(Long.MAX_VALUE / 2);
     private final String message;
-    protected long duration;
-
-    private final Runnable countDown = new Runnable() {
-        private long cTime;
-
-        @Override
-        public void run() {
-            while (duration > 0L) {
-                this.cTime = System.currentTimeMillis();
-                if ((System.currentTimeMillis() - this.cTime) >= 1000) {
-                    duration = duration - 1L;
-                }
-            }
-        }
-    };
-    private Thread t = new Thread(countDown, "DBTempElement_Timer-" + ((int) Math.random() * 100000000));
+    private final long duration;
+    private final long deadline; // Based on System.nanoTime()
+    private volatile boolean expired;
 
     public DBTempElement(String message, long Duration) {
         if (message.contains("[")) {
@@ -48,23 +52,56 @@ public final class DBTempElement extends DBElement<String> {
         }
         this.message = message;
         this.duration = Duration;
-        t.setDaemon(true);
-        t.start();
+        this.deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.min(Duration, MAX_DURATION));
+        if (Duration <= 0) {
+            this.expired = true;
+        } else if (Duration <= MAX_DURATION) {
+            ExpirationService.schedule(this, this.deadline);
+        }
     }
 
     public String getMessage() {
-        if (this.duration <= 0) {
+        if (this.isExpired()) {
             throw new IllegalStateException("This element is expired!");
         }
         return this.message;
     }
 
+    /**
+     * @return The remaining duration of this element in seconds, rounded up
+     */
+    public long getDuration() {
+        if (this.expired) {
+            return 0L;
+        }
+        if (this.duration > MAX_DURATION) {
+            return this.duration;
+        }
+        long r = this.deadline - System.nanoTime();
+        return (r <= 0L) ? 0L : (TimeUnit.NANOSECONDS.toSeconds(r - 1L) + 1L);
+    }
+
+    public boolean isExpired() {
+        return this.getDuration() <= 0L;
+    }
+
     @Override
     public String toString() {
-        if (this.duration <= 0) {
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        long d = this.getDuration();
+        if (d <= 0) {
             throw new IllegalStateException("This element is expired");
         }
-        return "[TEMPE][MSG]" + message + "[/MSG][DURATION]" + duration + "[/DURATION][/TEMPE]";
+        this.writeTo(a, d);
+    }
+
+    void writeTo(Appendable a, long d) throws IOException {
+        a.append("[TEMPE][MSG]").append(message).append("[/MSG][DURATION]").append(Long.toString(d))
+                .append("[/DURATION][/TEMPE]");
     }
 
     @Override
@@ -78,6 +115,14 @@ public final class DBTempElement extends DBElement<String> {
     }
 
     public void destroy() {
-        this.duration = 0L;
+        this.expire();
+    }
+
+    /**
+     * Marks this element as expired and removes it from the roots that hold it
+     */
+    void expire() {
+        this.expired = true;
+        this.purgeFromRoots();
     }
 }
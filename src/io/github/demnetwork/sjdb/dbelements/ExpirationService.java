@@ -0,0 +1,107 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb.dbelements;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires {@link io.github.demnetwork.sjdb.dbelements.DBTempElement
+ * DBTempElement}(s) with a single daemon thread.
+ * <p>
+ * The deadlines are kept in a {@link java.util.concurrent.DelayQueue
+ * DelayQueue}, so the thread only wakes up when the closest deadline is
+ * reached. It is started when the first element is scheduled. The queue only
+ * holds weak references, so elements that are no longer used can be garbage
+ * collected before they expire.
+ * </p>
+ */
+final class ExpirationService {
+    private static final DelayQueue<Entry> queue = new DelayQueue<>();
+    private static volatile Thread thread;
+
+    private ExpirationService() {
+        throw new UnsupportedOperationException("Cannot instantiate ExpirationService");
+    }
+
+    /**
+     * @param e        The element to expire
+     * @param deadline The deadline, based on {@link System#nanoTime()}
+     */
+    static void schedule(DBTempElement e, long deadline) {
+        queue.add(new Entry(e, deadline));
+        if (thread == null) {
+            start();
+        }
+    }
+
+    private static synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        Thread t = new Thread(ExpirationService::run, "DBTempElement_Expiration");
+        t.setDaemon(true);
+        t.start();
+        thread = t;
+    }
+
+    private static void run() {
+        while (true) {
+            try {
+                DBTempElement e = queue.take().get();
+                if (e != null) {
+                    e.expire();
+                }
+            } catch (InterruptedException ie) {
+                // The thread is a daemon, the JVM stops it on exit
+            } catch (RuntimeException re) {
+                // An element must not stop the expiration of the other elements
+            }
+        }
+    }
+
+    private static final class Entry extends WeakReference<DBTempElement> implements Delayed {
+        private final long deadline;
+
+        private Entry(DBTempElement e, long deadline) {
+            super(e);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (o instanceof Entry) {
+                return Long.compare(this.deadline - ((Entry) o).deadline, 0L);
+            }
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
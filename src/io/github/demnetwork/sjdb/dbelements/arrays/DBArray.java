@@ -23,11 +23,19 @@
 
 package io.github.demnetwork.sjdb.dbelements.arrays;
 
+import java.io.IOException;
+import java.util.AbstractList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import io.github.demnetwork.sjdb.dbelements.DBElement;
-import io.github.demnetwork.sjdb.dbelements.DBRootElement;
 import io.github.demnetwork.sjdb.dbelements.property.*;
 
 public abstract class DBArray<T extends DBElement<?>> extends DBElement<T[]>
@@ -45,6 +53,73 @@ public abstract class DBArray<T extends DBElement<?>> extends DBElement<T[]>
 
     public abstract String toString();
 
+    /**
+     * @return The number of slots of this array
+     */
+    public int size() {
+        return this.getMaxElementCount();
+    }
+
+    /**
+     * Returns a read-only view of the slots of this array. Unlike {@link #get()}
+     * the slots are not copied, the view reads this array when it is used, so it
+     * reflects the changes made to this array.
+     * 
+     * @return The view
+     */
+    public List<T> view() {
+        return new View();
+    }
+
+    /**
+     * Performs the action for every slot of this array, including the empty slots,
+     * without copying the slots
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "The action is null");
+        for (int i = 0, n = this.size(); i < n; i++) {
+            action.accept(this.get(i));
+        }
+    }
+
+    /**
+     * The spliterator splits the slots in halves and knows the exact size of every
+     * part, so parallel streams of this array are balanced
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return this.view().spliterator();
+    }
+
+    /**
+     * @return A sequential stream of the slots of this array, the empty slots are
+     *         null
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * @return A parallel stream of the slots of this array, the empty slots are
+     *         null
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    private final class View extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            return DBArray.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return DBArray.this.size();
+        }
+    }
+
     public static <T extends DBElement<?>> DBArray<T> createArray(T[] cdata) {
         return new DBArray<T>() {
             private T[] data = cdata;
@@ -83,17 +158,21 @@ public abstract class DBArray<T extends DBElement<?>> extends DBElement<T[]>
 
             @Override
             public void setName(String name) {
+                String old = this.name;
                 this.name = NameProperty.validateName(name);
+                this.nameChanged(old);
             }
 
             @Override
             public void set(T[] data) {
                 this.data = data;
+                this.contentChanged();
             }
 
             @Override
             public void set(T data, int index) {
                 this.data[index] = data;
+                this.contentChanged();
             }
 
             @Override
@@ -106,12 +185,26 @@ public abstract class DBArray<T extends DBElement<?>> extends DBElement<T[]>
                 return this.data[index];
             }
 
+            @Override
+            public DBArray<T> copy() {
+                DBArray<T> c = DBArray.createArray(DBElement.copyAll(this.data));
+                if (this.name != null) {
+                    c.setName(this.name);
+                }
+                return c;
+            }
+
             @Override
             public String toString() {
-                DBRootElement dbre = new DBRootElement();
-                dbre.set(data);
-                return "[ARR][PROPERTIES] name=\'" + name + "\'; maxelementcount=" + this.data.length
-                        + "; [/PROPERTIES][DATA]" + dbre.toString() + "[/DATA][/ARR]";
+                return DBElement.writeToString(this);
+            }
+
+            @Override
+            public void writeTo(Appendable a) throws IOException {
+                a.append("[ARR][PROPERTIES] name=\'").append(name).append("\'; maxelementcount=")
+                        .append(Integer.toString(this.data.length)).append("; [/PROPERTIES][DATA]");
+                DBElement.writeChildren(this.data, a);
+                a.append("[/DATA][/ARR]");
             }
 
         };
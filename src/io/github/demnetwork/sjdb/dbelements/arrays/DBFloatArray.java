@@ -23,10 +23,11 @@
 
 package io.github.demnetwork.sjdb.dbelements.arrays;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.NoSuchElementException;
+import io.github.demnetwork.sjdb.dbelements.DBElement;
 import io.github.demnetwork.sjdb.dbelements.DBFloat;
-import io.github.demnetwork.sjdb.dbelements.DBRootElement;
 
 public class DBFloatArray extends DBArray<DBFloat> {
     private static final DBFloat[] DEFAULT_DATA = new DBFloat[0];
@@ -43,8 +44,14 @@ public class DBFloatArray extends DBArray<DBFloat> {
         this.name = io.github.demnetwork.sjdb.dbelements.property.NameProperty.validateName(name); // Name Validation.
     }
 
+    @Override
+    public DBFloatArray copy() {
+        return new DBFloatArray(DBElement.copyAll(this.data), this.name);
+    }
+
     public void set(DBFloat[] data) {
         this.data = Objects.requireNonNull(data, "Cannot set data to null");
+        this.contentChanged();
     }
 
     public DBFloat[] get() {
@@ -59,6 +66,7 @@ public class DBFloatArray extends DBArray<DBFloat> {
             this.data = Arrays.copyOf(this.data, ((this.data.length + 1) * 2));
         }
         this.data[index] = data;
+        this.contentChanged();
     }
 
     public DBFloat get(int index) {
@@ -74,7 +82,9 @@ public class DBFloatArray extends DBArray<DBFloat> {
     }
 
     public void setName(String name) {
+        String old = this.name;
         this.name = io.github.demnetwork.sjdb.dbelements.property.NameProperty.validateName(name); // name Validation
+        this.nameChanged(old);
     }
 
     public int getMaxElementCount() {
@@ -103,9 +113,14 @@ public class DBFloatArray extends DBArray<DBFloat> {
     }
 
     public String toString() {
-        DBRootElement dbre = new DBRootElement();
-        dbre.set(this.data);
-        return "[DBFA][PROPERTIES] name=\'" + name + "\'; maxelementcount=" + this.data.length + "; [/PROPERTIES][DATA]"
-                + dbre.toString() + "[/DATA][/DBFA]";
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[DBFA][PROPERTIES] name=\'").append(name).append("\'; maxelementcount=")
+                .append(Integer.toString(this.data.length)).append("; [/PROPERTIES][DATA]");
+        DBElement.writeChildren(this.data, a);
+        a.append("[/DATA][/DBFA]");
     }
 }
@@ -0,0 +1,359 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb.dbelements.arrays;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import io.github.demnetwork.sjdb.dbelements.DBElement;
+import io.github.demnetwork.sjdb.dbelements.property.*;
+
+/**
+ * An array of integers backed by an <code>int[]</code>.
+ * <p>
+ * Unlike {@link io.github.demnetwork.sjdb.dbelements.arrays.DBIntegerArray
+ * DBIntegerArray}, the cells are not
+ * {@link io.github.demnetwork.sjdb.dbelements.DBInteger DBInteger}s, the name
+ * and the final flags belong to the whole array, so a cell costs 4 bytes and it
+ * is read and written without boxing.
+ * </p>
+ * 
+ * @since SJDB v1.0.0
+ */
+public final class DBIntArray extends DBElement<int[]>
+        implements NameProperty, MaxElementCountProperty, FinalProperty, FinalStateLockProperty {
+    public static final String DEFAULT_NAME = "Unnamed_DBIntArray";
+    public static final int BUILD_NUMBER = 1;
+    public static final String VERSION = "v1.0.0";
+    private int[] data;
+    private String name;
+    private boolean isFinal;
+    private boolean isFinalStateLocked;
+
+    public DBIntArray(int length) {
+        this(DEFAULT_NAME, new int[length]);
+    }
+
+    public DBIntArray(String name, int length) {
+        this(name, new int[length]);
+    }
+
+    /**
+     * @param name The name
+     * @param data The cells, the array is used without copying it
+     */
+    public DBIntArray(String name, int[] data) {
+        this(name, data, false, false);
+    }
+
+    public DBIntArray(String name, int[] data, boolean isFinal, boolean isFinalStateLocked) {
+        if (name == null || name.contains("=") || name.contains(";") || name.contains("]") || name.contains("[")) {
+            this.name = "null";
+        } else {
+            this.name = NameProperty.validateName(name);
+        }
+        this.data = Objects.requireNonNull(data, "Cannot set inital data to \'null\'");
+        this.isFinal = isFinal;
+        this.isFinalStateLocked = isFinalStateLocked;
+    }
+
+    private DBIntArray(DBIntArray a) {
+        this.name = a.name;
+        this.data = a.data.clone();
+        this.isFinal = a.isFinal;
+        this.isFinalStateLocked = a.isFinalStateLocked;
+    }
+
+    @Override
+    public DBIntArray copy() {
+        return new DBIntArray(this);
+    }
+
+    /**
+     * @return A copy of the cells
+     */
+    @Override
+    public int[] get() {
+        return this.data.clone();
+    }
+
+    /**
+     * Replaces the cells, the array is used without copying it
+     */
+    @Override
+    public void set(int[] data) {
+        this.checkFinal();
+        this.data = Objects.requireNonNull(data, "Cannot set data to null");
+        this.contentChanged();
+    }
+
+    public int getInt(int index) {
+        return this.data[index];
+    }
+
+    public void setInt(int index, int value) {
+        this.checkFinal();
+        this.data[index] = value;
+        this.contentChanged();
+    }
+
+    /**
+     * Sets every cell to the value
+     */
+    public void fill(int value) {
+        this.fill(0, this.data.length, value);
+    }
+
+    /**
+     * Sets the cells from the index <code>from</code> to the index
+     * <code>to</code>(exclusive) to the value
+     */
+    public void fill(int from, int to, int value) {
+        this.checkFinal();
+        Arrays.fill(this.data, from, to, value);
+        this.contentChanged();
+    }
+
+    /**
+     * Copies the values to the cells, the length of this array becomes the length
+     * of the values
+     */
+    public void copyFrom(int[] values) {
+        this.checkFinal();
+        Objects.requireNonNull(values, "The values are null");
+        if (values.length == this.data.length) {
+            System.arraycopy(values, 0, this.data, 0, values.length);
+        } else {
+            this.data = values.clone();
+        }
+        this.contentChanged();
+    }
+
+    /**
+     * Copies <code>length</code> values starting at <code>offset</code> to the
+     * cells starting at <code>index</code>
+     */
+    public void copyFrom(int[] values, int offset, int index, int length) {
+        this.checkFinal();
+        System.arraycopy(values, offset, this.data, index, length);
+        this.contentChanged();
+    }
+
+    /**
+     * Copies the cells to an array, without copying them to a new array like
+     * {@link #get()}
+     */
+    public void copyTo(int[] dest, int index) {
+        System.arraycopy(this.data, 0, dest, index, this.data.length);
+    }
+
+    /**
+     * Adds the value to every cell
+     */
+    public void increment(int value) {
+        this.checkFinal();
+        NumericKernels.add(this.data, 0, this.data.length, value);
+        this.contentChanged();
+    }
+
+    /**
+     * Multiplies every cell by the factor
+     */
+    public void multiplyBy(int factor) {
+        this.checkFinal();
+        NumericKernels.scale(this.data, 0, this.data.length, factor);
+        this.contentChanged();
+    }
+
+    /**
+     * Adds every cell of the array to the cell with the same index of this array
+     * 
+     * @throws IllegalArgumentException If the arrays have different sizes
+     */
+    public void add(DBIntArray a) {
+        this.checkFinal();
+        checkSize(this, a);
+        NumericKernels.add(this.data, 0, a.data, 0, this.data.length);
+        this.contentChanged();
+    }
+
+    /**
+     * @return The sum of the cells
+     */
+    public long sum() {
+        return NumericKernels.sum(this.data, 0, this.data.length);
+    }
+
+    /**
+     * @throws java.util.NoSuchElementException If this array is empty
+     */
+    public int min() {
+        return NumericKernels.min(this.data, 0, this.data.length);
+    }
+
+    /**
+     * @throws java.util.NoSuchElementException If this array is empty
+     */
+    public int max() {
+        return NumericKernels.max(this.data, 0, this.data.length);
+    }
+
+    /**
+     * @return The sum of the products of the cells with the same index
+     * @throws IllegalArgumentException If the arrays have different sizes
+     */
+    public long dot(DBIntArray a) {
+        checkSize(this, a);
+        return NumericKernels.dot(this.data, 0, a.data, 0, this.data.length);
+    }
+
+    private static void checkSize(DBIntArray a, DBIntArray b) {
+        if (a.data.length != b.data.length) {
+            throw new IllegalArgumentException(
+                    "The arrays have different sizes: " + a.data.length + " and " + b.data.length);
+        }
+    }
+
+    /**
+     * @return The number of cells
+     */
+    public int size() {
+        return this.data.length;
+    }
+
+    @Override
+    public int getMaxElementCount() {
+        return this.data.length;
+    }
+
+    /**
+     * @return A sequential stream of the cells
+     */
+    public IntStream stream() {
+        return Arrays.stream(this.data);
+    }
+
+    /**
+     * @return A parallel stream of the cells
+     */
+    public IntStream parallelStream() {
+        return Arrays.stream(this.data).parallel();
+    }
+
+    private void checkFinal() {
+        if (this.isFinal) {
+            throw new IllegalStateException("Unable to change DBIntArray data, because it is final");
+        }
+    }
+
+    @Override
+    public void setName(String Name) {
+        String old = this.name;
+        if (this.isFinal) {
+            throw new IllegalStateException("Cannot edit DBIntArray name because it is final");
+        }
+        if (Name == null) {
+            this.name = "null";
+        } else if (Name.equals(this.name)) {
+            return;
+        } else if (Name.contains(";") || Name.contains("=") || Name.contains("]") || Name.contains("[")) {
+            return;
+        } else {
+            this.name = NameProperty.validateName(Name);
+        }
+        this.nameChanged(old);
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public boolean isFinal() {
+        return this.isFinal;
+    }
+
+    @Override
+    public void setFinal(boolean isFinal) {
+        if (this.isFinalStateLocked) {
+            throw new IllegalStateException("Cannot modify \'isFinal\' state of DBIntArray, because it is locked.");
+        }
+        this.isFinal = isFinal;
+        this.contentChanged();
+    }
+
+    @Override
+    public boolean isFinalStateLocked() {
+        return this.isFinalStateLocked;
+    }
+
+    @Override
+    public void lockFinalState() {
+        if (this.isFinalStateLocked) {
+            throw new IllegalStateException("Cannot modify the \'isFinal\' state lock, because is it already locked");
+        }
+        this.isFinalStateLocked = true;
+        this.contentChanged();
+    }
+
+    @Override
+    public String toString() {
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[DBINTS][PROPERTIES] name=\'").append(this.name).append("\'; isFinal=")
+                .append(String.valueOf(this.isFinal)).append("; fsl=").append(String.valueOf(this.isFinalStateLocked))
+                .append("; maxelementcount=").append(Integer.toString(this.data.length))
+                .append("; [/PROPERTIES][INTS] ");
+        for (int i = 0; i < this.data.length; i++) {
+            if (i > 0) {
+                a.append(',');
+            }
+            a.append(Integer.toString(this.data[i]));
+        }
+        a.append(" [/INTS][/DBINTS]");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DBIntArray)) {
+            return false;
+        }
+        DBIntArray a = (DBIntArray) obj;
+        return this.name.equals(a.name) && this.isFinal == a.isFinal
+                && this.isFinalStateLocked == a.isFinalStateLocked && Arrays.equals(this.data, a.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.name.hashCode() + Arrays.hashCode(this.data);
+    }
+}
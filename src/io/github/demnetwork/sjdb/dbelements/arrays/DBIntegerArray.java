@@ -23,9 +23,11 @@
 
 package io.github.demnetwork.sjdb.dbelements.arrays;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import io.github.demnetwork.sjdb.dbelements.DBElement;
 import io.github.demnetwork.sjdb.dbelements.DBInteger;
 import io.github.demnetwork.sjdb.dbelements.property.*;
 
@@ -76,6 +78,18 @@ public class DBIntegerArray extends DBArray<DBInteger>
         this.isFinalStateLocked = isFinalStateLocked;
     }
 
+    private DBIntegerArray(DBIntegerArray a) {
+        this.name = a.name;
+        this.data = DBElement.copyAll(a.data);
+        this.isFinal = a.isFinal;
+        this.isFinalStateLocked = a.isFinalStateLocked;
+    }
+
+    @Override
+    public DBIntegerArray copy() {
+        return new DBIntegerArray(this);
+    }
+
     @Override
     public DBInteger[] get() {
         return Arrays.copyOf(this.data, this.data.length);
@@ -90,6 +104,7 @@ public class DBIntegerArray extends DBArray<DBInteger>
             throw new NullPointerException("Cannot set data to null");
         }
         this.data = data;
+        this.contentChanged();
     }
 
     public void set(DBInteger data, int index) {
@@ -103,6 +118,7 @@ public class DBIntegerArray extends DBArray<DBInteger>
             this.data = Arrays.copyOf(this.data, ((this.data.length + 1) * 2));
         }
         this.data[index] = data;
+        this.contentChanged();
     }
 
     public DBInteger get(int index) {
@@ -120,6 +136,7 @@ public class DBIntegerArray extends DBArray<DBInteger>
         } else {
             this.isFinal = isFinal;
         }
+        this.contentChanged();
     }
 
     public void lockFinalState() {
@@ -128,9 +145,11 @@ public class DBIntegerArray extends DBArray<DBInteger>
         } else {
             this.isFinalStateLocked = true;
         }
+        this.contentChanged();
     }
 
     public void setName(String Name) {
+        String old = this.name;
         if (isFinal) {
             throw new IllegalStateException("Cannot edit DBString name because it is final");
         } else {
@@ -145,6 +164,7 @@ public class DBIntegerArray extends DBArray<DBInteger>
                 this.name = Name;
             }
         }
+        this.nameChanged(old);
     }
 
     public String getName() {
@@ -169,17 +189,22 @@ public class DBIntegerArray extends DBArray<DBInteger>
 
     @Override
     public String toString() {
-        String s = "[DBINTARR][PROPERTIES] name=\'" + this.name + "\'; isFinal=" + this.isFinal + "; fsl="
-                + this.isFinalStateLocked + "; maxelementcount=" + this.data.length + "; [/PROPERTIES][DBINTARRDATA] ";
-        for (int i = 0; i < this.data.length; i++) {
-            if (this.data[i] == null) {
+        return DBElement.writeToString(this);
+    }
 
-            } else {
-                s = s + ", " + this.data[i].toString();
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[DBINTARR][PROPERTIES] name=\'").append(this.name).append("\'; isFinal=")
+                .append(String.valueOf(this.isFinal)).append("; fsl=").append(String.valueOf(this.isFinalStateLocked))
+                .append("; maxelementcount=").append(Integer.toString(this.data.length))
+                .append("; [/PROPERTIES][DBINTARRDATA] ");
+        for (int i = 0; i < this.data.length; i++) {
+            if (this.data[i] != null) {
+                a.append(", ");
+                this.data[i].writeTo(a);
             }
         }
-        s = s + "[/DBINTARRDATA]";
-        return s;
+        a.append("[/DBINTARRDATA]");
     }
 
     @Override
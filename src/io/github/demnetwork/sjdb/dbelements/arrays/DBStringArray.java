@@ -23,8 +23,9 @@
 
 package io.github.demnetwork.sjdb.dbelements.arrays;
 
+import java.io.IOException;
 import java.util.*;
-import io.github.demnetwork.sjdb.dbelements.DBRootElement;
+import io.github.demnetwork.sjdb.dbelements.DBElement;
 import io.github.demnetwork.sjdb.dbelements.DBString;
 
 public final class DBStringArray extends DBArray<DBString> {
@@ -42,8 +43,14 @@ public final class DBStringArray extends DBArray<DBString> {
         this.name = io.github.demnetwork.sjdb.dbelements.property.NameProperty.validateName(name); // Name Validation.
     }
 
+    @Override
+    public DBStringArray copy() {
+        return new DBStringArray(DBElement.copyAll(this.data), this.name);
+    }
+
     public void set(DBString[] data) {
         this.data = Objects.requireNonNull(data, "Cannot set data to null");
+        this.contentChanged();
     }
 
     public DBString[] get() {
@@ -58,6 +65,7 @@ public final class DBStringArray extends DBArray<DBString> {
             this.data = Arrays.copyOf(this.data, ((this.data.length + 1) * 2));
         }
         this.data[index] = data;
+        this.contentChanged();
     }
 
     public DBString get(int index) {
@@ -73,7 +81,9 @@ public final class DBStringArray extends DBArray<DBString> {
     }
 
     public void setName(String name) {
+        String old = this.name;
         this.name = io.github.demnetwork.sjdb.dbelements.property.NameProperty.validateName(name); // name Validation
+        this.nameChanged(old);
     }
 
     public int getMaxElementCount() {
@@ -102,9 +112,14 @@ public final class DBStringArray extends DBArray<DBString> {
     }
 
     public String toString() {
-        DBRootElement dbre = new DBRootElement();
-        dbre.set(this.data);
-        return "[DBSA][PROPERTIES] name=\'" + name + "\'; maxelementcount=" + this.data.length + "; [/PROPERTIES][DATA]"
-                + dbre.toString() + "[/DATA][/DBSA]";
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[DBSA][PROPERTIES] name=\'").append(name).append("\'; maxelementcount=")
+                .append(Integer.toString(this.data.length)).append("; [/PROPERTIES][DATA]");
+        DBElement.writeChildren(this.data, a);
+        a.append("[/DATA][/DBSA]");
     }
 }
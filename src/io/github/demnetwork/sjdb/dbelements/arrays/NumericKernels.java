@@ -0,0 +1,225 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb.dbelements.arrays;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Arithmetic and reductions over ranges of primitive arrays, used by the
+ * elements backed by them, like {@link DBIntArray} and the columns of
+ * {@link io.github.demnetwork.sjdb.dbelements.table.ColumnarTable
+ * ColumnarTable}.
+ * <p>
+ * The loops are simple counted loops over arrays, which the JIT compiler can
+ * unroll. The float reductions are computed in double precision and keep four
+ * partial sums, so each addition does not have to wait for the previous one.
+ * </p>
+ * 
+ * @since SJDB v1.0.0
+ */
+public final class NumericKernels {
+    private NumericKernels() {
+        throw new UnsupportedOperationException("Cannot instantiate NumericKernels");
+    }
+
+    /**
+     * Adds the value to every element from the index <code>from</code> to the
+     * index <code>to</code>(exclusive)
+     */
+    public static void add(int[] a, int from, int to, int value) {
+        Objects.checkFromToIndex(from, to, a.length);
+        for (int i = from; i < to; i++) {
+            a[i] += value;
+        }
+    }
+
+    public static void add(float[] a, int from, int to, float value) {
+        Objects.checkFromToIndex(from, to, a.length);
+        for (int i = from; i < to; i++) {
+            a[i] += value;
+        }
+    }
+
+    /**
+     * Multiplies every element of the range by the factor
+     */
+    public static void scale(int[] a, int from, int to, int factor) {
+        Objects.checkFromToIndex(from, to, a.length);
+        for (int i = from; i < to; i++) {
+            a[i] *= factor;
+        }
+    }
+
+    public static void scale(float[] a, int from, int to, float factor) {
+        Objects.checkFromToIndex(from, to, a.length);
+        for (int i = from; i < to; i++) {
+            a[i] *= factor;
+        }
+    }
+
+    /**
+     * Adds <code>length</code> elements of <code>src</code> starting at
+     * <code>srcPos</code> to the elements of <code>dest</code> starting at
+     * <code>destPos</code>
+     */
+    public static void add(int[] dest, int destPos, int[] src, int srcPos, int length) {
+        Objects.checkFromIndexSize(destPos, length, dest.length);
+        Objects.checkFromIndexSize(srcPos, length, src.length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] += src[srcPos + i];
+        }
+    }
+
+    public static void add(float[] dest, int destPos, float[] src, int srcPos, int length) {
+        Objects.checkFromIndexSize(destPos, length, dest.length);
+        Objects.checkFromIndexSize(srcPos, length, src.length);
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] += src[srcPos + i];
+        }
+    }
+
+    /**
+     * @return The sum of the range, it does not overflow like an int
+     */
+    public static long sum(int[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        long s = 0;
+        for (int i = from; i < to; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+
+    /**
+     * @return The sum of the range, added in double precision
+     */
+    public static double sum(float[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @throws NoSuchElementException If the range is empty
+     */
+    public static int min(int[] a, int from, int to) {
+        checkNotEmpty(from, to, a.length);
+        int m = a[from];
+        for (int i = from + 1; i < to; i++) {
+            m = Math.min(m, a[i]);
+        }
+        return m;
+    }
+
+    /**
+     * @return The minimum of the range, or NaN if an element is NaN
+     * @throws NoSuchElementException If the range is empty
+     */
+    public static float min(float[] a, int from, int to) {
+        checkNotEmpty(from, to, a.length);
+        float m = a[from];
+        for (int i = from + 1; i < to; i++) {
+            m = Math.min(m, a[i]);
+        }
+        return m;
+    }
+
+    /**
+     * @throws NoSuchElementException If the range is empty
+     */
+    public static int max(int[] a, int from, int to) {
+        checkNotEmpty(from, to, a.length);
+        int m = a[from];
+        for (int i = from + 1; i < to; i++) {
+            m = Math.max(m, a[i]);
+        }
+        return m;
+    }
+
+    /**
+     * @return The maximum of the range, or NaN if an element is NaN
+     * @throws NoSuchElementException If the range is empty
+     */
+    public static float max(float[] a, int from, int to) {
+        checkNotEmpty(from, to, a.length);
+        float m = a[from];
+        for (int i = from + 1; i < to; i++) {
+            m = Math.max(m, a[i]);
+        }
+        return m;
+    }
+
+    /**
+     * @return The sum of the products of <code>length</code> elements of the
+     *         arrays, starting at <code>aPos</code> and <code>bPos</code>
+     */
+    public static long dot(int[] a, int aPos, int[] b, int bPos, int length) {
+        Objects.checkFromIndexSize(aPos, length, a.length);
+        Objects.checkFromIndexSize(bPos, length, b.length);
+        long s = 0;
+        for (int i = 0; i < length; i++) {
+            s += (long) a[aPos + i] * b[bPos + i];
+        }
+        return s;
+    }
+
+    /**
+     * @return The sum of the products, multiplied and added in double
+     *         precision
+     */
+    public static double dot(float[] a, int aPos, float[] b, int bPos, int length) {
+        Objects.checkFromIndexSize(aPos, length, a.length);
+        Objects.checkFromIndexSize(bPos, length, b.length);
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += (double) a[aPos + i] * b[bPos + i];
+            s1 += (double) a[aPos + i + 1] * b[bPos + i + 1];
+            s2 += (double) a[aPos + i + 2] * b[bPos + i + 2];
+            s3 += (double) a[aPos + i + 3] * b[bPos + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += (double) a[aPos + i] * b[bPos + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static void checkNotEmpty(int from, int to, int length) {
+        Objects.checkFromToIndex(from, to, length);
+        if (from == to) {
+            throw new NoSuchElementException("The range is empty");
+        }
+    }
+}
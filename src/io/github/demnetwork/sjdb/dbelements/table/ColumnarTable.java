@@ -0,0 +1,677 @@
+/*
+ *   Copyright (c) 2025 DEMnetwork
+ *   All rights reserved.
+
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ 
+ *   The above copyright notice and this permission notice shall be included in all
+ *   copies or substantial portions of the Software.
+ 
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *   SOFTWARE.
+ */
+
+package io.github.demnetwork.sjdb.dbelements.table;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import io.github.demnetwork.sjdb.dbelements.DBElement;
+import io.github.demnetwork.sjdb.dbelements.DBFloat;
+import io.github.demnetwork.sjdb.dbelements.DBInteger;
+import io.github.demnetwork.sjdb.dbelements.DBString;
+import io.github.demnetwork.sjdb.dbelements.arrays.NumericKernels;
+import io.github.demnetwork.sjdb.dbelements.property.NameProperty;
+import io.github.demnetwork.sjdb.exceptions.IllegalArrayLength;
+
+/**
+ * A {@link io.github.demnetwork.sjdb.dbelements.table.Table Table} that stores
+ * every column in a primitive array.
+ * <p>
+ * The cells are not {@link io.github.demnetwork.sjdb.dbelements.DBElement
+ * DBElement}s, the name belongs to the column. {@link #get(int, int)} returns a
+ * new element named after the column, changes made to it are not written to the
+ * table, use {@link #set(int, int, DBElement)} or the methods of the columns.
+ * The columns are indexed from 0, like in
+ * {@link io.github.demnetwork.sjdb.dbelements.table.SimpleTable SimpleTable}.
+ * </p>
+ * 
+ * @since SJDB v1.0.0
+ */
+public final class ColumnarTable extends Table {
+    public static final String DEFAULT_NAME = "Unnamed ColumnarTable";
+    private String name;
+    private final Column[] columns;
+    public final int length;
+    public final int colCount;
+
+    /**
+     * The type of the values of a column
+     */
+    public enum ColumnType {
+        INT, FLOAT, STRING;
+    }
+
+    /**
+     * @param name    The name of the table
+     * @param columns The columns, they must have the same length and cannot
+     *                belong to another table
+     */
+    public ColumnarTable(String name, Column... columns) {
+        Table.checkNull(new String[] { "Name", "Columns" }, name, columns);
+        Table.checkNull((Object[]) columns);
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("The table must have at least one column");
+        }
+        this.name = NameProperty.validateName(name);
+        this.columns = columns.clone();
+        this.length = columns[0].size();
+        this.colCount = columns.length;
+        for (Column c : this.columns) {
+            if (c.size() != this.length) {
+                throw new IllegalArrayLength(this.length, c.size());
+            }
+            if (c.table != null) {
+                throw new IllegalArgumentException("The column \'" + c.name + "\' belongs to another table");
+            }
+            c.table = this;
+        }
+    }
+
+    /**
+     * Instantiates a table with empty columns named <code>col1</code>,
+     * <code>col2</code>...
+     * 
+     * @param name   The name of the table
+     * @param length The number of rows
+     * @param types  The types of the columns
+     */
+    public ColumnarTable(String name, int length, ColumnType... types) {
+        this(name, columns(length, types));
+    }
+
+    private static Column[] columns(int length, ColumnType[] types) {
+        Table.checkNull((Object[]) types);
+        Column[] c = new Column[types.length];
+        for (int i = 0; i < c.length; i++) {
+            String n = "col" + (i + 1);
+            switch (types[i]) {
+                case INT:
+                    c[i] = new IntColumn(n, new int[length]);
+                    break;
+                case FLOAT:
+                    c[i] = new FloatColumn(n, new float[length]);
+                    break;
+                default:
+                    c[i] = new StringColumn(n, length);
+                    break;
+            }
+        }
+        return c;
+    }
+
+    @Override
+    public ColumnarTable copy() {
+        Column[] c = new Column[this.columns.length];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = this.columns[i].copy();
+        }
+        return new ColumnarTable(this.name, c);
+    }
+
+    public Column getColumn(int col) {
+        return this.columns[col];
+    }
+
+    public IntColumn getIntColumn(int col) {
+        return (IntColumn) this.column(col, ColumnType.INT);
+    }
+
+    public FloatColumn getFloatColumn(int col) {
+        return (FloatColumn) this.column(col, ColumnType.FLOAT);
+    }
+
+    public StringColumn getStringColumn(int col) {
+        return (StringColumn) this.column(col, ColumnType.STRING);
+    }
+
+    private Column column(int col, ColumnType type) {
+        Column c = this.columns[col];
+        if (c.getType() != type) {
+            throw new IllegalArgumentException("The column " + col + " is a " + c.getType() + " column");
+        }
+        return c;
+    }
+
+    @Override
+    public DBElement<?>[] get(int row) {
+        DBElement<?>[] r = new DBElement<?>[this.colCount];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = this.columns[i].element(row);
+        }
+        return r;
+    }
+
+    @Override
+    public DBElement<?> get(int row, int col) throws NoSuchElementException {
+        if (col < 0 || col >= this.colCount) {
+            throw new NoSuchElementException("Could not find column " + col + ".");
+        }
+        return this.columns[col].element(row);
+    }
+
+    @Override
+    public void set(DBElement<?>[] data, int index) {
+        Table.checkNull((Object[]) data);
+        if (data.length != this.colCount) {
+            throw new IllegalArrayLength(this.colCount, data.length);
+        }
+        for (int i = 0; i < data.length; i++) {
+            this.columns[i].check(data[i]);
+        }
+        for (int i = 0; i < data.length; i++) {
+            this.columns[i].setElement(index, data[i]);
+        }
+        this.rowChanged(index);
+    }
+
+    @Override
+    public void set(int col, int row, DBElement<?> data) {
+        Table.checkNull(data);
+        Column c = this.columns[col];
+        c.check(data);
+        c.setElement(row, data);
+        this.rowChanged(row);
+    }
+
+    @Override
+    public int getMaxElementCount() {
+        return this.length;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public void setName(String name) {
+        String old = this.name;
+        this.name = NameProperty.validateName(name);
+        this.nameChanged(old);
+    }
+
+    @Override
+    public String toString() {
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[CTABLE][PROPERTIES] name=\'").append(this.name).append("\'; maxelementcount=")
+                .append(Integer.toString(this.length)).append("; [/PROPERTIES]");
+        for (int i = 0; i < this.colCount; i++) {
+            Column c = this.columns[i];
+            String col = Integer.toString(i + 1);
+            a.append("[COL").append(col).append("][PROPERTIES] name=\'").append(c.name).append("\'; type=")
+                    .append(c.getType().name()).append("; [/PROPERTIES] ");
+            for (int r = 0; r < this.length; r++) {
+                if (r > 0) {
+                    a.append(',');
+                }
+                c.writeValue(r, a);
+            }
+            a.append(" [/COL").append(col).append("]");
+        }
+        a.append("[/CTABLE]");
+    }
+
+    /**
+     * A column of a {@link ColumnarTable}, the changes made through it are
+     * notified like the changes made through the table
+     */
+    public static abstract class Column {
+        private String name;
+        private ColumnarTable table;
+
+        private Column(String name) {
+            this.name = NameProperty.validateName(name);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = NameProperty.validateName(name);
+            if (this.table != null) {
+                this.table.contentChanged();
+            }
+        }
+
+        /**
+         * @return The number of rows
+         */
+        public abstract int size();
+
+        public abstract ColumnType getType();
+
+        /**
+         * @return A new element named after this column that holds the value of the
+         *         row
+         */
+        abstract DBElement<?> element(int row);
+
+        /**
+         * @throws IllegalArgumentException If the element cannot be stored in this
+         *                                  column
+         */
+        abstract void check(DBElement<?> e);
+
+        abstract void setElement(int row, DBElement<?> e);
+
+        abstract Column copy();
+
+        abstract void writeValue(int row, Appendable a) throws IOException;
+
+        /**
+         * Updates the indexes of the table and notifies the change
+         * 
+         * @param row The row that was set, or -1 when many rows were set
+         */
+        final void changed(int row) {
+            if (this.table == null) {
+                return;
+            }
+            if (row < 0) {
+                this.table.rowsChanged();
+            } else {
+                this.table.rowChanged(row);
+            }
+        }
+
+        static void checkSize(Column a, Column b) {
+            if (a.size() != b.size()) {
+                throw new IllegalArrayLength(a.size(), b.size());
+            }
+        }
+
+        final IllegalArgumentException mismatch(DBElement<?> e) {
+            return new IllegalArgumentException("The " + this.getType() + " column \'" + this.name
+                    + "\' cannot hold a " + e.getClass().getSimpleName());
+        }
+    }
+
+    public static final class IntColumn extends Column {
+        private final int[] data;
+
+        /**
+         * @param name The name
+         * @param data The values, the array is used without copying it
+         */
+        public IntColumn(String name, int[] data) {
+            super(name);
+            this.data = java.util.Objects.requireNonNull(data, "The data is null");
+        }
+
+        public int getInt(int row) {
+            return this.data[row];
+        }
+
+        public void setInt(int row, int value) {
+            this.data[row] = value;
+            this.changed(row);
+        }
+
+        public void fill(int value) {
+            Arrays.fill(this.data, value);
+            this.changed(-1);
+        }
+
+        /**
+         * Adds the value to every row
+         */
+        public void increment(int value) {
+            NumericKernels.add(this.data, 0, this.data.length, value);
+            this.changed(-1);
+        }
+
+        /**
+         * Multiplies every row by the factor
+         */
+        public void multiplyBy(int factor) {
+            NumericKernels.scale(this.data, 0, this.data.length, factor);
+            this.changed(-1);
+        }
+
+        /**
+         * Adds every row of the column to the same row of this column
+         */
+        public void add(IntColumn c) {
+            Column.checkSize(this, c);
+            NumericKernels.add(this.data, 0, c.data, 0, this.data.length);
+            this.changed(-1);
+        }
+
+        public long sum() {
+            return NumericKernels.sum(this.data, 0, this.data.length);
+        }
+
+        public int min() {
+            return NumericKernels.min(this.data, 0, this.data.length);
+        }
+
+        public int max() {
+            return NumericKernels.max(this.data, 0, this.data.length);
+        }
+
+        /**
+         * @return The sum of the products of the same rows of the columns
+         */
+        public long dot(IntColumn c) {
+            Column.checkSize(this, c);
+            return NumericKernels.dot(this.data, 0, c.data, 0, this.data.length);
+        }
+
+        @Override
+        public int size() {
+            return this.data.length;
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.INT;
+        }
+
+        @Override
+        DBElement<?> element(int row) {
+            return new DBInteger(this.getName(), this.data[row]);
+        }
+
+        @Override
+        void check(DBElement<?> e) {
+            if (!(e instanceof DBInteger)) {
+                throw this.mismatch(e);
+            }
+        }
+
+        @Override
+        void setElement(int row, DBElement<?> e) {
+            this.data[row] = ((DBInteger) e).get().intValue();
+        }
+
+        @Override
+        IntColumn copy() {
+            return new IntColumn(this.getName(), this.data.clone());
+        }
+
+        @Override
+        void writeValue(int row, Appendable a) throws IOException {
+            a.append(Integer.toString(this.data[row]));
+        }
+    }
+
+    public static final class FloatColumn extends Column {
+        private final float[] data;
+
+        /**
+         * @param name The name
+         * @param data The values, the array is used without copying it
+         */
+        public FloatColumn(String name, float[] data) {
+            super(name);
+            this.data = java.util.Objects.requireNonNull(data, "The data is null");
+        }
+
+        public float getFloat(int row) {
+            return this.data[row];
+        }
+
+        public void setFloat(int row, float value) {
+            this.data[row] = value;
+            this.changed(row);
+        }
+
+        public void fill(float value) {
+            Arrays.fill(this.data, value);
+            this.changed(-1);
+        }
+
+        /**
+         * Adds the value to every row
+         */
+        public void increment(float value) {
+            NumericKernels.add(this.data, 0, this.data.length, value);
+            this.changed(-1);
+        }
+
+        /**
+         * Multiplies every row by the factor
+         */
+        public void multiplyBy(float factor) {
+            NumericKernels.scale(this.data, 0, this.data.length, factor);
+            this.changed(-1);
+        }
+
+        /**
+         * Adds every row of the column to the same row of this column
+         */
+        public void add(FloatColumn c) {
+            Column.checkSize(this, c);
+            NumericKernels.add(this.data, 0, c.data, 0, this.data.length);
+            this.changed(-1);
+        }
+
+        /**
+         * @return The sum of the rows, added in double precision
+         */
+        public double sum() {
+            return NumericKernels.sum(this.data, 0, this.data.length);
+        }
+
+        public float min() {
+            return NumericKernels.min(this.data, 0, this.data.length);
+        }
+
+        public float max() {
+            return NumericKernels.max(this.data, 0, this.data.length);
+        }
+
+        /**
+         * @return The sum of the products of the same rows of the columns,
+         *         multiplied and added in double precision
+         */
+        public double dot(FloatColumn c) {
+            Column.checkSize(this, c);
+            return NumericKernels.dot(this.data, 0, c.data, 0, this.data.length);
+        }
+
+        @Override
+        public int size() {
+            return this.data.length;
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.FLOAT;
+        }
+
+        @Override
+        DBElement<?> element(int row) {
+            return new DBFloat(this.getName(), this.data[row]);
+        }
+
+        @Override
+        void check(DBElement<?> e) {
+            if (!(e instanceof DBFloat)) {
+                throw this.mismatch(e);
+            }
+        }
+
+        @Override
+        void setElement(int row, DBElement<?> e) {
+            this.data[row] = ((DBFloat) e).get().floatValue();
+        }
+
+        @Override
+        FloatColumn copy() {
+            return new FloatColumn(this.getName(), this.data.clone());
+        }
+
+        @Override
+        void writeValue(int row, Appendable a) throws IOException {
+            a.append(Float.toString(this.data[row]));
+        }
+    }
+
+    /**
+     * A column of Strings stored as codes of a dictionary, every distinct String
+     * is stored once. The code of an empty row is -1. The dictionary only grows,
+     * a String stays in it after the last row holding it was changed.
+     */
+    public static final class StringColumn extends Column {
+        private final int[] codes;
+        private final ArrayList<String> values;
+        private final HashMap<String, Integer> dictionary;
+
+        public StringColumn(String name, int length) {
+            this(name, new String[0], filled(length));
+        }
+
+        /**
+         * @param name       The name
+         * @param dictionary The distinct Strings
+         * @param codes      The index in the dictionary of the String of every row,
+         *                   or -1. The array is used without copying it
+         */
+        public StringColumn(String name, String[] dictionary, int[] codes) {
+            super(name);
+            this.codes = java.util.Objects.requireNonNull(codes, "The codes are null");
+            this.values = new ArrayList<>(dictionary.length);
+            this.dictionary = new HashMap<>(Math.max(16, dictionary.length * 2));
+            for (String s : dictionary) {
+                if (s == null || this.dictionary.putIfAbsent(s, Integer.valueOf(this.values.size())) != null) {
+                    throw new IllegalArgumentException("The dictionary holds a null or repeated String");
+                }
+                this.values.add(s);
+            }
+            for (int c : codes) {
+                if (c < -1 || c >= this.values.size()) {
+                    throw new IllegalArgumentException("Invalid code: " + c);
+                }
+            }
+        }
+
+        private static int[] filled(int length) {
+            int[] c = new int[length];
+            Arrays.fill(c, -1);
+            return c;
+        }
+
+        /**
+         * @return The String of the row, or null
+         */
+        public String getString(int row) {
+            int c = this.codes[row];
+            return c < 0 ? null : this.values.get(c);
+        }
+
+        /**
+         * @param row   The row
+         * @param value The String, or null
+         */
+        public void setString(int row, String value) {
+            this.codes[row] = this.code(value);
+            this.changed(row);
+        }
+
+        /**
+         * @return The code of the String of the row, or -1
+         */
+        public int getCode(int row) {
+            return this.codes[row];
+        }
+
+        /**
+         * @return The code of the String, or -1 if no row ever held it
+         */
+        public int codeOf(String value) {
+            Integer c = this.dictionary.get(value);
+            return c == null ? -1 : c.intValue();
+        }
+
+        public int getDictionarySize() {
+            return this.values.size();
+        }
+
+        public String getDictionaryValue(int code) {
+            return this.values.get(code);
+        }
+
+        private int code(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer c = this.dictionary.get(value);
+            if (c == null) {
+                c = Integer.valueOf(this.values.size());
+                this.dictionary.put(value, c);
+                this.values.add(value);
+            }
+            return c.intValue();
+        }
+
+        @Override
+        public int size() {
+            return this.codes.length;
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.STRING;
+        }
+
+        @Override
+        DBElement<?> element(int row) {
+            String s = this.getString(row);
+            return s == null ? null : new DBString(s, this.getName());
+        }
+
+        @Override
+        void check(DBElement<?> e) {
+            if (!(e instanceof DBString)) {
+                throw this.mismatch(e);
+            }
+        }
+
+        @Override
+        void setElement(int row, DBElement<?> e) {
+            this.codes[row] = this.code(((DBString) e).get());
+        }
+
+        @Override
+        StringColumn copy() {
+            return new StringColumn(this.getName(), this.values.toArray(new String[0]), this.codes.clone());
+        }
+
+        @Override
+        void writeValue(int row, Appendable a) throws IOException {
+            String s = this.getString(row);
+            if (s != null) {
+                a.append('\'').append(s).append('\'');
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@
 
 package io.github.demnetwork.sjdb.dbelements.table;
 
+import java.io.IOException;
 import java.util.NoSuchElementException;
 import io.github.demnetwork.sjdb.dbelements.DBElement;
 import io.github.demnetwork.sjdb.dbelements.DBRootElement;
@@ -81,6 +82,11 @@ public class DBTable2C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>> e
         this.length = Col1.length;
     }
 
+    @Override
+    public DBTable2C<Col_1, Col_2> copy() {
+        return new DBTable2C<Col_1, Col_2>(this.name, DBElement.copyAll(this.Col1), DBElement.copyAll(this.Col2));
+    }
+
     public DBTable2C() {
         this("Unnamed_DBTable(2 Col)");
     }
@@ -98,12 +104,15 @@ public class DBTable2C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>> e
     }
 
     public void setName(String name) {
+        String old = this.name;
         this.name = NameProperty.validateName(name);
+        this.nameChanged(old);
     }
 
     public void set(Col_1 Column1, Col_2 Column2, int index) {
         Col1[index] = Column1;
         Col2[index] = Column2;
+        this.rowChanged(index);
     }
 
     public DBElement<?>[] get(int index) {
@@ -130,38 +139,44 @@ public class DBTable2C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>> e
         } catch (ClassCastException err) {
             throw new IllegalArgumentException("Invalid data types provided for columns.", err);
         }
+        this.rowChanged(index);
     }
 
     public void setCol1(Col_1 data, int index) {
-        if (data instanceof DBRootElement) {
-            throw new IllegalArgumentException("The data cannot be an DBRootElement.");
-        }
+        checkCell(data);
         Col1[index] = data;
+        this.rowChanged(index);
     }
 
     public void setCol2(Col_2 data, int index) {
-        if (data instanceof DBRootElement) {
-            throw new IllegalArgumentException("The data cannot be an DBRootElement.");
-        }
+        checkCell(data);
         Col2[index] = data;
+        this.rowChanged(index);
     }
 
     public int getMaxElementCount() {
         return this.length;
     }
 
+    static void checkCell(DBElement<?> data) {
+        if (data instanceof DBRootElement) {
+            throw new IllegalArgumentException("The data cannot be an DBRootElement.");
+        }
+    }
+
     @Override
     public String toString() {
-        String s = "[TABLE2C][PROPERTIES] name=\'" + name + "\''; maxelementcount=" + this.Col1.length
-                + ";[/PROPERTIES][COL1]";
-        DBRootElement dbre = new DBRootElement(this.Col1.length);
-        dbre.set(Col1);
-        s = s + dbre.toString();
-        s = s + "[/COL1][COL2]";
-        dbre.set(Col2);
-        s = s + dbre.toString();
-        s = s + "[/COL2][/TABLE2C]";
-        return s;
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[TABLE2C][PROPERTIES] name=\'").append(name).append("\''; maxelementcount=")
+                .append(Integer.toString(this.Col1.length)).append(";[/PROPERTIES][COL1]");
+        DBElement.writeChildren(Col1, a);
+        a.append("[/COL1][COL2]");
+        DBElement.writeChildren(Col2, a);
+        a.append("[/COL2][/TABLE2C]");
     }
 
     public Col_1 getCol1(int index) {
@@ -23,6 +23,7 @@
 
 package io.github.demnetwork.sjdb.dbelements.table;
 
+import java.io.IOException;
 import io.github.demnetwork.sjdb.dbelements.*;
 import io.github.demnetwork.sjdb.exceptions.IllegalArrayLength;
 
@@ -57,6 +58,13 @@ public class DBTable3C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>, C
     private DBTable3C(int length) {
     }
 
+    @Override
+    public DBTable3C<Col_1, Col_2, Col_3> copy() {
+        DBTable2C<Col_2, Col_3> t = super.getCol2(0);
+        return new DBTable3C<Col_1, Col_2, Col_3>(super.getName(), DBElement.copyAll(Col1),
+                DBElement.copyAll(t.Col1), DBElement.copyAll(t.Col2));
+    }
+
     @Override
     public DBElement<?>[] get(int index) {
         return new DBElement<?>[] { super.getCol1(index), super.getCol2(0).getCol1(index),
@@ -86,10 +94,12 @@ public class DBTable3C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>, C
 
     public void setColumn2(Col_2 data, int index) {
         super.getCol2(0).setCol1(data, index);
+        this.rowChanged(index);
     }
 
     public void setColumn3(Col_3 data, int index) {
         super.getCol2(0).setCol2(data, index);
+        this.rowChanged(index);
     }
 
     @Override
@@ -105,29 +115,36 @@ public class DBTable3C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>, C
 
     @Override
     public String toString() {
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
         String name = super.getName();
         Col_2[] col2 = super.getCol2(0).Col1;
         Col_3[] col3 = super.getCol2(0).Col2;
-        String s = "[TABLE3C][PROPERTIES] name=" + name + "; maxelementcount=" + super.length + "; [/PROPERTIES][COL1]";
-        DBRootElement dbre = new DBRootElement(this.Col1.length);
-        dbre.set(Col1);
-        s = s + dbre.toString();
-        s = s + "[/COL1][COL2]";
-        dbre.set(col2);
-        s = s + dbre.toString();
-        s = s + "[/COL2][COL3]";
-        dbre.set(col3);
-        s = s + dbre.toString();
-        s = s + "[/COL3][/TABLE3C]";
-        return s;
+        a.append("[TABLE3C][PROPERTIES] name=").append(name).append("; maxelementcount=")
+                .append(Integer.toString(super.length)).append("; [/PROPERTIES][COL1]");
+        DBElement.writeChildren(Col1, a);
+        a.append("[/COL1][COL2]");
+        DBElement.writeChildren(col2, a);
+        a.append("[/COL2][COL3]");
+        DBElement.writeChildren(col3, a);
+        a.append("[/COL3][/TABLE3C]");
     }
 
     public void set(Col_1 Col1, Col_2 Col2, Col_3 Col3, int index) {
         Table.checkNull(Col1, Col2, Col3);
-        this.setColumn1(Col1, index);
-        this.setColumn2(Col2, index);
-        this.setColumn3(Col3, index);
-        return;
+        DBTable2C.checkCell(Col1);
+        DBTable2C.checkCell(Col2);
+        DBTable2C.checkCell(Col3);
+        DBTable2C<Col_2, Col_3> t = super.getCol2(0);
+        // Sets every cell before updating the indexes once
+        this.Col1[index] = Col1;
+        t.Col1[index] = Col2;
+        t.Col2[index] = Col3;
+        t.rowChanged(index);
+        this.rowChanged(index);
     }
 
     @SuppressWarnings("unchecked")
@@ -23,6 +23,7 @@
 
 package io.github.demnetwork.sjdb.dbelements.table;
 
+import java.io.IOException;
 import io.github.demnetwork.sjdb.dbelements.*;
 import io.github.demnetwork.sjdb.exceptions.IllegalArrayLength;
 
@@ -75,6 +76,14 @@ public class DBTable4C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>, C
         this.length = Column1.length;
     }
 
+    @Override
+    public DBTable4C<Col_1, Col_2, Col_3, Col_4> copy() {
+        DBTable2C<Col_1, Col_2> t1 = super.getCol1(0);
+        DBTable2C<Col_3, Col_4> t2 = super.getCol2(0);
+        return new DBTable4C<Col_1, Col_2, Col_3, Col_4>(super.getName(), DBElement.copyAll(t1.Col1),
+                DBElement.copyAll(t1.Col2), DBElement.copyAll(t2.Col1), DBElement.copyAll(t2.Col2));
+    }
+
     @Override
     public DBTable2C<Col_1, Col_2> getCol1(int index) {
         throw new UnsupportedOperationException("This method is not supported use \'getColumn1(int)\'");
@@ -120,26 +129,39 @@ public class DBTable4C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>, C
 
     public void setColumn1(Col_1 data, int index) {
         super.getCol1(0).setCol1(data, index);
+        this.rowChanged(index);
     }
 
     public void setColumn2(Col_2 data, int index) {
         super.getCol1(0).setCol2(data, index);
+        this.rowChanged(index);
     }
 
     public void setColumn3(Col_3 data, int index) {
         super.getCol2(0).setCol1(data, index);
+        this.rowChanged(index);
     }
 
     public void setColumn4(Col_4 data, int index) {
         super.getCol2(0).setCol2(data, index);
+        this.rowChanged(index);
     }
 
     public void set(Col_1 Col1, Col_2 Col2, Col_3 Col3, Col_4 Col4, int index) {
-        this.setColumn1(Col1, index);
-        this.setColumn2(Col2, index);
-        this.setColumn3(Col3, index);
-        this.setColumn4(Col4, index);
-        return;
+        DBTable2C.checkCell(Col1);
+        DBTable2C.checkCell(Col2);
+        DBTable2C.checkCell(Col3);
+        DBTable2C.checkCell(Col4);
+        DBTable2C<Col_1, Col_2> t1 = super.getCol1(0);
+        DBTable2C<Col_3, Col_4> t2 = super.getCol2(0);
+        // Sets every cell before updating the indexes once
+        t1.Col1[index] = Col1;
+        t1.Col2[index] = Col2;
+        t2.Col1[index] = Col3;
+        t2.Col2[index] = Col4;
+        t1.rowChanged(index);
+        t2.rowChanged(index);
+        this.rowChanged(index);
     }
 
     @SuppressWarnings("unchecked")
@@ -162,25 +184,25 @@ public class DBTable4C<Col_1 extends DBElement<?>, Col_2 extends DBElement<?>, C
 
     @Override
     public String toString() {
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
         String name = super.getName();
         Col_1[] col1 = super.getCol1(0).Col1;
         Col_2[] col2 = super.getCol1(0).Col2;
         Col_3[] col3 = super.getCol2(0).Col1;
         Col_4[] col4 = super.getCol2(0).Col2;
-        String s = "[TABLE4C][PROPERTIES] name=" + name + "; maxelementcount=" + this.length + "; [/PROPERTIES][COL1]";
-        DBRootElement dbre = new DBRootElement(col1.length);
-        dbre.set(col1);
-        s = s + dbre.toString();
-        s = s + "[/COL1][COL2]";
-        dbre.set(col2);
-        s = s + dbre.toString();
-        s = s + "[/COL2][COL3]";
-        dbre.set(col3);
-        s = s + dbre.toString();
-        s = s + "[/COL3][COL4]";
-        dbre.set(col4);
-        s = s + dbre.toString();
-        s = s + "[/COL4][/TABLE4C]";
-        return s;
+        a.append("[TABLE4C][PROPERTIES] name=").append(name).append("; maxelementcount=")
+                .append(Integer.toString(this.length)).append("; [/PROPERTIES][COL1]");
+        DBElement.writeChildren(col1, a);
+        a.append("[/COL1][COL2]");
+        DBElement.writeChildren(col2, a);
+        a.append("[/COL2][COL3]");
+        DBElement.writeChildren(col3, a);
+        a.append("[/COL3][COL4]");
+        DBElement.writeChildren(col4, a);
+        a.append("[/COL4][/TABLE4C]");
     }
 }
@@ -23,8 +23,8 @@
 
 package io.github.demnetwork.sjdb.dbelements.table;
 
+import java.io.IOException;
 import io.github.demnetwork.sjdb.dbelements.DBElement;
-import io.github.demnetwork.sjdb.dbelements.DBRootElement;
 import io.github.demnetwork.sjdb.dbelements.property.NameProperty;
 import io.github.demnetwork.sjdb.exceptions.IllegalArrayLength;
 import io.github.demnetwork.sjdb.internal.*;
@@ -71,6 +71,21 @@ public class SimpleTable extends Table {
         this("Unnamed SimpleTable", new DBElement<?>[columnCount][length]);
     }
 
+    private SimpleTable(SimpleTable t) {
+        this.name = t.name;
+        this.length = t.length;
+        this.colCount = t.colCount;
+        this.data = new DBElement<?>[t.data.length][];
+        for (int i = 0; i < this.data.length; i++) {
+            this.data[i] = DBElement.copyAll(t.data[i]);
+        }
+    }
+
+    @Override
+    public SimpleTable copy() {
+        return new SimpleTable(this);
+    }
+
     @Override
     public int getMaxElementCount() {
         return this.length;
@@ -78,19 +93,27 @@ public class SimpleTable extends Table {
 
     @Override
     public String toString() {
-        String s = "[STABLE][PROPERTIES] name=\'" + this.name + "\'; maxelementcount=" + length + " [PROPERTIES]";
+        return DBElement.writeToString(this);
+    }
+
+    @Override
+    public void writeTo(Appendable a) throws IOException {
+        a.append("[STABLE][PROPERTIES] name=\'").append(this.name).append("\'; maxelementcount=")
+                .append(Integer.toString(length)).append(" [PROPERTIES]");
         for (int i = 0; i < this.colCount; i++) {
-            DBRootElement dbre = new DBRootElement(this.length);
-            dbre.set(this.data[i]);
-            s = s + "[COL" + (i + 1) + "]" + dbre.toString() + "[/COL" + (i + 1) + "]";
+            String col = Integer.toString(i + 1);
+            a.append("[COL").append(col).append("]");
+            DBElement.writeChildren(this.data[i], a);
+            a.append("[/COL").append(col).append("]");
         }
-        s = s + "[/STABLE]";
-        return s;
+        a.append("[/STABLE]");
     }
 
     @Override
     public void setName(String s) {
+        String old = this.name;
         this.name = NameProperty.validateName(s);
+        this.nameChanged(old);
     }
 
     @Override
@@ -107,6 +130,7 @@ public class SimpleTable extends Table {
         for (int i = 0; i < data.length; i++) {
             this.data[i][index] = data[i];
         }
+        this.rowChanged(index);
     }
 
     @Override
@@ -127,5 +151,6 @@ public class SimpleTable extends Table {
     public void set(int col, int row, DBElement<?> data) {
         Table.checkNull(data);
         this.data[col][row] = data;
+        this.rowChanged(row);
     }
 }
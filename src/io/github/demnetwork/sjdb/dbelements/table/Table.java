@@ -23,7 +23,14 @@
 
 package io.github.demnetwork.sjdb.dbelements.table;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import io.github.demnetwork.sjdb.dbelements.*;
 import io.github.demnetwork.sjdb.dbelements.property.MaxElementCountProperty;
 import io.github.demnetwork.sjdb.dbelements.property.NameProperty;
@@ -34,6 +41,10 @@ import io.github.demnetwork.sjdb.exceptions.IllegalArrayLength;
  */
 @SuppressWarnings("rawtypes")
 public abstract class Table extends DBElement<DBElement[]> implements NameProperty, MaxElementCountProperty {
+    private static final HashIndex[] NO_INDEXES = new HashIndex[0];
+    private static final SortedIndex[] NO_SORTED_INDEXES = new SortedIndex[0];
+    private HashIndex[] indexes = NO_INDEXES;
+    private SortedIndex[] sortedIndexes = NO_SORTED_INDEXES;
 
     protected Table() {
     }
@@ -46,6 +57,521 @@ public abstract class Table extends DBElement<DBElement[]> implements NameProper
 
     public abstract void set(DBElement<?>[] data, int index);
 
+    /**
+     * Returns a read-only view of the rows of this table, a row is read with
+     * {@link #get(int)} when it is used, so the view reflects the changes made to
+     * this table
+     * 
+     * @return The view
+     */
+    public List<DBElement<?>[]> rows() {
+        return new Rows();
+    }
+
+    /**
+     * @return A sequential stream of the rows of this table
+     */
+    public Stream<DBElement<?>[]> stream() {
+        return StreamSupport.stream(this.rows().spliterator(), false);
+    }
+
+    /**
+     * The rows are split in halves of known size, so every core scans a balanced
+     * part of this table
+     * 
+     * @return A parallel stream of the rows of this table
+     */
+    public Stream<DBElement<?>[]> parallelStream() {
+        return StreamSupport.stream(this.rows().spliterator(), true);
+    }
+
+    /**
+     * Builds a hash index of the values of a column, so {@link #lookup(int, Object)}
+     * finds the rows holding a value without scanning the table. The index is
+     * updated when a cell is set through this table.
+     * <p>
+     * The value of a cell is the data of a
+     * {@link io.github.demnetwork.sjdb.dbelements.DBInteger DBInteger},
+     * {@link io.github.demnetwork.sjdb.dbelements.DBFloat DBFloat} or
+     * {@link io.github.demnetwork.sjdb.dbelements.DBString DBString}, its name is
+     * ignored, other elements are their own value and are compared by identity,
+     * so changing their content does not move them in the index. A cell that is
+     * changed in place, like with
+     * {@link io.github.demnetwork.sjdb.dbelements.DBInteger#increment(int)
+     * DBInteger.increment(int)}, is not indexed again until it is set.
+     * </p>
+     * 
+     * @param col The column, numbered like in {@link #get(int, int)}
+     */
+    public void createIndex(int col) {
+        if (this.hasIndex(col)) {
+            return;
+        }
+        HashIndex idx = new HashIndex(col, this.getMaxElementCount());
+        for (int r = 0; r < idx.keys.length; r++) {
+            idx.add(r, keyOf(this.get(r, col)));
+        }
+        this.indexes = Arrays.copyOf(this.indexes, this.indexes.length + 1);
+        this.indexes[this.indexes.length - 1] = idx;
+    }
+
+    public boolean hasIndex(int col) {
+        return this.index(col) != null;
+    }
+
+    public void dropIndex(int col) {
+        for (int i = 0; i < this.indexes.length; i++) {
+            if (this.indexes[i].col == col) {
+                HashIndex[] n = new HashIndex[this.indexes.length - 1];
+                System.arraycopy(this.indexes, 0, n, 0, i);
+                System.arraycopy(this.indexes, i + 1, n, i, n.length - i);
+                this.indexes = n;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the rows with a cell holding the value in a column, the column is
+     * scanned when it has no index
+     * 
+     * @param col   The column, numbered like in {@link #get(int, int)}
+     * @param value An Integer, Float or String, an element whose value is used (or
+     *              that is found itself, if it is not a scalar), or null to find
+     *              the empty cells
+     * @return The rows in ascending order
+     */
+    public int[] lookup(int col, Object value) {
+        Object key = (value instanceof DBElement<?>) ? keyOf((DBElement<?>) value) : value;
+        HashIndex idx = this.index(col);
+        if (idx == null) {
+            int[] rows = new int[8];
+            int n = 0;
+            for (int r = 0, length = this.getMaxElementCount(); r < length; r++) {
+                if (java.util.Objects.equals(key, keyOf(this.get(r, col)))) {
+                    if (n == rows.length) {
+                        rows = Arrays.copyOf(rows, n * 2);
+                    }
+                    rows[n++] = r;
+                }
+            }
+            return Arrays.copyOf(rows, n);
+        }
+        RowIds ids = idx.rows.get(key);
+        if (ids == null) {
+            return new int[0];
+        }
+        int[] rows = Arrays.copyOf(ids.rows, ids.count);
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Builds a sorted index of the numeric values of a column, so
+     * {@link #lookup(int, int, double)} answers range queries without scanning the
+     * table. The index is updated when a cell is set through this table, like the
+     * index made by {@link #createIndex(int)}.
+     * <p>
+     * Only the cells holding a
+     * {@link io.github.demnetwork.sjdb.dbelements.DBInteger DBInteger} or a
+     * {@link io.github.demnetwork.sjdb.dbelements.DBFloat DBFloat} that is not NaN
+     * are indexed, the other cells never match a query.
+     * </p>
+     * 
+     * @param col The column, numbered like in {@link #get(int, int)}
+     */
+    public void createSortedIndex(int col) {
+        if (this.hasSortedIndex(col)) {
+            return;
+        }
+        SortedIndex idx = new SortedIndex(col, this.getMaxElementCount());
+        for (int r = 0; r < idx.rowKeys.length; r++) {
+            idx.rowKeys[r] = numberOf(this.get(r, col));
+        }
+        idx.build();
+        this.sortedIndexes = Arrays.copyOf(this.sortedIndexes, this.sortedIndexes.length + 1);
+        this.sortedIndexes[this.sortedIndexes.length - 1] = idx;
+    }
+
+    public boolean hasSortedIndex(int col) {
+        return this.sortedIndex(col) != null;
+    }
+
+    public void dropSortedIndex(int col) {
+        for (int i = 0; i < this.sortedIndexes.length; i++) {
+            if (this.sortedIndexes[i].col == col) {
+                SortedIndex[] n = new SortedIndex[this.sortedIndexes.length - 1];
+                System.arraycopy(this.sortedIndexes, 0, n, 0, i);
+                System.arraycopy(this.sortedIndexes, i + 1, n, i, n.length - i);
+                this.sortedIndexes = n;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the rows with a numeric cell that compares to the value, the cell is
+     * the first operand like in
+     * {@link io.github.demnetwork.sjdb.dbelements.DBInteger#compare(io.github.demnetwork.sjdb.dbelements.DBInteger, int, io.github.demnetwork.sjdb.dbelements.DBInteger)
+     * DBInteger.compare(DBInteger, int, DBInteger)}. With a sorted index the rows
+     * are found in O(log n + k), otherwise the column is scanned.
+     * 
+     * @param col        The column, numbered like in {@link #get(int, int)}
+     * @param Comparison One of
+     *                   {@link io.github.demnetwork.sjdb.dbelements.DBInteger.ComparisonConstants
+     *                   DBInteger.ComparisonConstants}
+     * @param value      The value, integers are compared exactly
+     * @return The rows, in ascending order of their values and then of the rows
+     * @throws IllegalArgumentException If the comparison is invalid
+     */
+    public int[] lookup(int col, int Comparison, double value) {
+        if (Comparison < 0 || Comparison > 5) {
+            throw new IllegalArgumentException("The argument \'Comparison\' is invalid");
+        }
+        SortedIndex idx = this.sortedIndex(col);
+        if (idx == null) {
+            idx = new SortedIndex(col, this.getMaxElementCount());
+            for (int r = 0; r < idx.rowKeys.length; r++) {
+                double k = numberOf(this.get(r, col));
+                idx.rowKeys[r] = matches(k, Comparison, value) ? k : Double.NaN;
+            }
+            idx.build();
+            return Arrays.copyOf(idx.rows, idx.count);
+        }
+        return idx.select(Comparison, value + 0.0);
+    }
+
+    private static boolean matches(double k, int Comparison, double value) {
+        switch (Comparison) {
+            case 0:
+                return k == value;
+            case 1:
+                return k != value;
+            case 2:
+                return k > value;
+            case 3:
+                return k >= value;
+            case 4:
+                return k < value;
+            default:
+                return k <= value;
+        }
+    }
+
+    private SortedIndex sortedIndex(int col) {
+        for (SortedIndex idx : this.sortedIndexes) {
+            if (idx.col == col) {
+                return idx;
+            }
+        }
+        return null;
+    }
+
+    private HashIndex index(int col) {
+        for (HashIndex idx : this.indexes) {
+            if (idx.col == col) {
+                return idx;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Must be invoked by subclasses after cells of a row were set, it updates the
+     * indexes and notifies the change like {@link #contentChanged()}
+     */
+    protected final void rowChanged(int row) {
+        for (HashIndex idx : this.indexes) {
+            idx.remove(row);
+            idx.add(row, keyOf(this.get(row, idx.col)));
+        }
+        for (SortedIndex idx : this.sortedIndexes) {
+            idx.remove(row);
+            idx.add(row, numberOf(this.get(row, idx.col)));
+        }
+        this.contentChanged();
+    }
+
+    /**
+     * Must be invoked by subclasses after cells of many rows were set, it builds
+     * the indexes again
+     */
+    protected final void rowsChanged() {
+        HashIndex[] old = this.indexes;
+        this.indexes = NO_INDEXES;
+        for (HashIndex idx : old) {
+            this.createIndex(idx.col);
+        }
+        SortedIndex[] sorted = this.sortedIndexes;
+        this.sortedIndexes = NO_SORTED_INDEXES;
+        for (SortedIndex idx : sorted) {
+            this.createSortedIndex(idx.col);
+        }
+        this.contentChanged();
+    }
+
+    private static Object keyOf(DBElement<?> e) {
+        if (e instanceof io.github.demnetwork.sjdb.dbelements.DBInteger
+                || e instanceof io.github.demnetwork.sjdb.dbelements.DBFloat
+                || e instanceof io.github.demnetwork.sjdb.dbelements.DBString) {
+            return e.get();
+        }
+        return (e == null) ? null : new Identity(e);
+    }
+
+    /**
+     * @return The numeric value of the cell, or NaN if it is not a number. -0.0 is
+     *         0.0 so they are found together
+     */
+    private static double numberOf(DBElement<?> e) {
+        if (e instanceof io.github.demnetwork.sjdb.dbelements.DBInteger) {
+            return ((io.github.demnetwork.sjdb.dbelements.DBInteger) e).get().intValue();
+        }
+        if (e instanceof io.github.demnetwork.sjdb.dbelements.DBFloat) {
+            return ((io.github.demnetwork.sjdb.dbelements.DBFloat) e).get().floatValue() + 0.0;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * The numeric values of a column and their rows, sorted by value and then by
+     * row in primitive arrays
+     */
+    private static final class SortedIndex {
+        private final int col;
+        private final double[] rowKeys; // The value of every row, NaN when it is not indexed
+        private double[] keys;
+        private int[] rows;
+        private int count;
+
+        private SortedIndex(int col, int length) {
+            this.col = col;
+            this.rowKeys = new double[length];
+        }
+
+        /**
+         * Sorts the rows that have a value in {@link #rowKeys}
+         */
+        private void build() {
+            int[] r = new int[this.rowKeys.length];
+            int n = 0;
+            for (int i = 0; i < r.length; i++) {
+                if (!Double.isNaN(this.rowKeys[i])) {
+                    r[n++] = i;
+                }
+            }
+            r = Arrays.copyOf(r, n);
+            // A stable merge sort by value keeps the rows of equal values in order
+            int[] tmp = new int[n];
+            for (int width = 1; width < n; width *= 2) {
+                for (int lo = 0; lo < n - width; lo += 2 * width) {
+                    int mid = lo + width;
+                    int hi = Math.min(lo + 2 * width, n);
+                    if (this.rowKeys[r[mid - 1]] <= this.rowKeys[r[mid]]) {
+                        continue; // Already in order
+                    }
+                    int i = lo, j = mid, k = lo;
+                    while (i < mid && j < hi) {
+                        tmp[k++] = (this.rowKeys[r[j]] < this.rowKeys[r[i]]) ? r[j++] : r[i++];
+                    }
+                    while (i < mid) {
+                        tmp[k++] = r[i++];
+                    }
+                    while (j < hi) {
+                        tmp[k++] = r[j++];
+                    }
+                    System.arraycopy(tmp, lo, r, lo, hi - lo);
+                }
+            }
+            this.rows = r;
+            this.keys = new double[Math.max(n, 1)];
+            for (int i = 0; i < n; i++) {
+                this.keys[i] = this.rowKeys[r[i]];
+            }
+            this.count = n;
+        }
+
+        /**
+         * @return The first position with a value that is not less than the value,
+         *         or greater than it when <code>inclusive</code> is false
+         */
+        private int bound(double value, boolean inclusive) {
+            int lo = 0, hi = this.count;
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (inclusive ? this.keys[m] < value : this.keys[m] <= value) {
+                    lo = m + 1;
+                } else {
+                    hi = m;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * @return The position of the value and row, or where they are inserted
+         */
+        private int position(double value, int row) {
+            int lo = this.bound(value, true), hi = this.bound(value, false);
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (this.rows[m] < row) {
+                    lo = m + 1;
+                } else {
+                    hi = m;
+                }
+            }
+            return lo;
+        }
+
+        private void add(int row, double value) {
+            this.rowKeys[row] = value;
+            if (Double.isNaN(value)) {
+                return;
+            }
+            int p = this.position(value, row);
+            if (this.count == this.rows.length) {
+                int c = Math.max(16, this.count + (this.count >> 1));
+                this.rows = Arrays.copyOf(this.rows, c);
+                this.keys = Arrays.copyOf(this.keys, c);
+            }
+            System.arraycopy(this.rows, p, this.rows, p + 1, this.count - p);
+            System.arraycopy(this.keys, p, this.keys, p + 1, this.count - p);
+            this.rows[p] = row;
+            this.keys[p] = value;
+            this.count++;
+        }
+
+        private void remove(int row) {
+            double value = this.rowKeys[row];
+            if (Double.isNaN(value)) {
+                return;
+            }
+            int p = this.position(value, row);
+            System.arraycopy(this.rows, p + 1, this.rows, p, this.count - p - 1);
+            System.arraycopy(this.keys, p + 1, this.keys, p, this.count - p - 1);
+            this.count--;
+            this.rowKeys[row] = Double.NaN;
+        }
+
+        private int[] select(int Comparison, double value) {
+            if (Double.isNaN(value)) {
+                // Every comparison with NaN is false, except NOT_EQUAL
+                return Comparison == 1 ? Arrays.copyOf(this.rows, this.count) : new int[0];
+            }
+            int lower = this.bound(value, true);
+            int upper = this.bound(value, false);
+            switch (Comparison) {
+                case 0:
+                    return Arrays.copyOfRange(this.rows, lower, upper);
+                case 1: {
+                    int[] r = new int[lower + this.count - upper];
+                    System.arraycopy(this.rows, 0, r, 0, lower);
+                    System.arraycopy(this.rows, upper, r, lower, this.count - upper);
+                    return r;
+                }
+                case 2:
+                    return Arrays.copyOfRange(this.rows, upper, this.count);
+                case 3:
+                    return Arrays.copyOfRange(this.rows, lower, this.count);
+                case 4:
+                    return Arrays.copyOfRange(this.rows, 0, lower);
+                default:
+                    return Arrays.copyOfRange(this.rows, 0, upper);
+            }
+        }
+    }
+
+    /**
+     * Maps the values of a column to the rows holding them
+     */
+    private static final class HashIndex {
+        private final int col;
+        private final Object[] keys; // The value of every row
+        private final int[] positions; // The position of every row in its RowIds
+        private final HashMap<Object, RowIds> rows = new HashMap<>();
+
+        private HashIndex(int col, int length) {
+            this.col = col;
+            this.keys = new Object[length];
+            this.positions = new int[length];
+        }
+
+        private void add(int row, Object key) {
+            RowIds ids = this.rows.get(key);
+            if (ids == null) {
+                ids = new RowIds();
+                this.rows.put(key, ids);
+            }
+            if (ids.count == ids.rows.length) {
+                ids.rows = Arrays.copyOf(ids.rows, ids.count * 2);
+            }
+            this.positions[row] = ids.count;
+            ids.rows[ids.count++] = row;
+            this.keys[row] = key;
+        }
+
+        private void remove(int row) {
+            Object key = this.keys[row];
+            RowIds ids = this.rows.get(key);
+            if (ids == null) {
+                return;
+            }
+            if (--ids.count == 0) {
+                this.rows.remove(key);
+                return;
+            }
+            // Moves the last row of the RowIds to the position of the removed row
+            int p = this.positions[row];
+            int last = ids.rows[ids.count];
+            ids.rows[p] = last;
+            this.positions[last] = p;
+        }
+    }
+
+    /**
+     * The key of an element that is not a scalar, it is equal only to the key of
+     * the same element, because the content of the element may change while it
+     * is indexed
+     */
+    private static final class Identity {
+        private final DBElement<?> e;
+
+        private Identity(DBElement<?> e) {
+            this.e = e;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof Identity) && ((Identity) o).e == this.e;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.e);
+        }
+    }
+
+    private static final class RowIds {
+        private int[] rows = new int[2];
+        private int count;
+    }
+
+    private final class Rows extends AbstractList<DBElement<?>[]> implements RandomAccess {
+        @Override
+        public DBElement<?>[] get(int row) {
+            if (row < 0 || row >= this.size()) {
+                throw new IndexOutOfBoundsException("The row " + row + " does not exist");
+            }
+            return Table.this.get(row);
+        }
+
+        @Override
+        public int size() {
+            return Table.this.getMaxElementCount();
+        }
+    }
+
     public final static Table createTable(int columnCount, String name, int length) {
         if (columnCount < 2) {
             throw new IllegalArgumentException(
@@ -69,6 +595,19 @@ public abstract class Table extends DBElement<DBElement[]> implements NameProper
         }
     }
 
+    /**
+     * Instantiates a {@link ColumnarTable} with empty columns of the types, every
+     * cell is stored in a primitive array instead of being an element
+     * 
+     * @param name   The name of the table
+     * @param length The number of rows
+     * @param types  The types of the columns
+     * @return The table
+     */
+    public final static ColumnarTable createTable(String name, int length, ColumnarTable.ColumnType... types) {
+        return new ColumnarTable(name, length, types);
+    }
+
     public final static DBTable2C shrinkTableToDBTable2C(DBTable2C table, int start) {
         if ((table instanceof DBTable3C)) {
             DBTable3C t3c = (DBTable3C) table;
@@ -23,16 +23,13 @@
 
 package io.github.demnetwork.sjdb.logging;
 
-import java.lang.reflect.Field;
-import java.util.Arrays;
 import java.util.*;
 import io.github.demnetwork.sjdb.*;
-import io.github.demnetwork.sjdb.dbelements.DBRootElement;
 import io.github.demnetwork.sjdb.internal.GetInvoker;
 
 public final class DatabaseLogger extends java.lang.Object {
     private final Database db; // Database to log
-    private logThread lT; // Current Logging thread
+    private logListener lT; // Current Logging listener
     private boolean logging; // Boolean containing informations weather it is logging
     private static long lm = 0; // The next ID of the next logger instance created
     private static final Object lock = new Object(); // Prevent damage from Race Conditions
@@ -67,11 +64,8 @@ public final class DatabaseLogger extends java.lang.Object {
     public void startLogging() {
         if (this.logging == false) {
             this.logging = true;
-            this.lT = new logThread();
-            Thread t = new Thread(lT);
-            t.setDaemon(true);
-            t.setName("Logger-" + this.thisID);
-            t.start();
+            this.lT = new logListener();
+            db.addListener(lT);
         } else {
             throw new IllegalStateException("This logger is already logging");
         }
@@ -81,105 +75,51 @@ public final class DatabaseLogger extends java.lang.Object {
         return this.logging;
     }
 
-    private final class logThread implements Runnable {
-        private long pause;
-        private final static Class<? extends Database> dbc = Database.class;
-        private Field f2;
-        private DBRootElement dbre;
-        private boolean b;
-        private Object[] data;
-        private String input;
-        private boolean fi;
-
-        private logThread() {
-            try {
-                pause = 50;
-                dbre = db.getRoot();
-                f2 = dbc.getDeclaredField("isNuked");
-                f2.setAccessible(true);
-                b = ((Boolean) f2.get(db)).booleanValue();
-                data = dbre.get();
-                input = "";
-                fi = false;
-            } catch (Exception e) {
-                log(e);
-                logging = false;
-                return;
+    /**
+     * Logs the changes as they are made, the Database notifies the listener so
+     * there is no need to poll it
+     */
+    private final class logListener implements DatabaseListener {
+        @Override
+        public void rootModified(Database db, int index) {
+            if (index < 0) {
+                logInfo("Database Root Element data was modified.");
+            } else {
+                logInfo("Database Root Element data was modified at index " + index + ".");
             }
         }
 
         @Override
-        public void run() {
-            try {
-                while (true) {
-                    if (!Arrays.equals(data, dbre.get())) {
-                        logInfo("Database Root Element data modified was modified.");
-                        data = dbre.get();
-                    }
-                    if (b != ((Boolean) f2.get(db)).booleanValue()) {
-                        logWarn("Database was nuked.");
-                        b = ((Boolean) f2.get(db)).booleanValue();
-                    }
-                    if (fi) {
-                        fi = false;
-                        logWarn(input);
-                    }
-                    Thread.sleep(pause);
-                }
-            } catch (Exception e) {
-                f2.setAccessible(false);
-                log(e);
-                logging = false;
-                return;
-            }
+        public void rootReplaced(Database db) {
+            logInfo("Database Root Element was replaced.");
         }
-    }
 
-    private void log(Throwable t) {
-        String s = t.getMessage();
-        StackTraceElement[] dst = t.getStackTrace();
-        Throwable t2 = t.getCause();
-        this.logError("Exception caught: " + t.getClass().getName() + ": " + s + ":");
-        for (int i = 0; i < dst.length; i++) {
-            this.logError("\tat " + dst[i].toString());
-        }
-        if (t2 == null) {
-            return;
+        @Override
+        public void saved(Database db) {
+            logInfo("Database was saved.");
         }
-        logCause(t2);
-    }
 
-    private void logCause(Throwable t) {
-        String s = t.getMessage();
-        StackTraceElement[] dst = t.getStackTrace();
-        Throwable t2 = t.getCause();
-        this.logError("Caused by: " + t.getClass().getName() + ": " + s + ":");
-        for (int i = 0; i < dst.length; i++) {
-            this.logError("\tat " + dst[i].toString());
-        }
-        if (t2 == null) {
-            return;
+        @Override
+        public void nuked(Database db) {
+            logWarn("Database was nuked.");
         }
-        logCause(t2);
     }
 
     private void logInfo(String s) {
-        System.out.println("\u001B[37m [" + Thread.currentThread().getName() + "] [INFO] " + s);
+        System.out.println("\u001B[37m [Logger-" + this.thisID + "] [INFO] " + s);
     }
 
     private void logWarn(String s) {
-        System.out.println("\u001B[33m [" + Thread.currentThread().getName() + "] [WARN] " + s + " \u001B[37m ");
-    }
-
-    private void logError(String s) {
-        System.out.println("\u001B[31m [" + Thread.currentThread().getName() + "] [ERROR] " + s
-                + "\u001B[37m ");
+        System.out.println("\u001B[33m [Logger-" + this.thisID + "] [WARN] " + s + " \u001B[37m ");
     }
 
+    /**
+     * @deprecated The changes are logged as soon as they are made, so the logger
+     *             no longer polls the Database. This method has no effect.
+     */
+    @Deprecated
     public synchronized void setLoggingInterval(long milisenconds) {
-        if (logging && lT != null) {
-            lT.pause = milisenconds;
-        } else {
+        if (!(logging && lT != null)) {
             throw new IllegalStateException("This DatabaseLogger is not logging");
         }
     }
@@ -199,7 +139,8 @@ public final class DatabaseLogger extends java.lang.Object {
             return;
         }
         if (lT != null && logging) {
-            lT.input = s;
+            this.logWarn(s);
+            return;
         }
         throw new IllegalStateException("This logger is not logging");
     }
@@ -24,6 +24,7 @@
 open module io.github.demnetwork.sjdb {
     exports io.github.demnetwork.sjdb; // Main package
     exports io.github.demnetwork.sjdb.cryptography; // Cryptography support
+    exports io.github.demnetwork.sjdb.compression; // Database compression codecs
     exports io.github.demnetwork.sjdb.dbelements; // Main Database Element package
     exports io.github.demnetwork.sjdb.dbelements.arrays; // Database Elements that represent a Array
     exports io.github.demnetwork.sjdb.dbelements.property; // Database Element property
@@ -36,4 +37,8 @@ open module io.github.demnetwork.sjdb {
 
     requires java.base;
     requires jdk.unsupported;
+
+    uses io.github.demnetwork.sjdb.compression.Codec;
+
+    provides io.github.demnetwork.sjdb.compression.Codec with io.github.demnetwork.sjdb.compression.DeflateCodec;
 }
\ No newline at end of file